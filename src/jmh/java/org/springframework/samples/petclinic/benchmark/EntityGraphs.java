@@ -0,0 +1,91 @@
+package org.springframework.samples.petclinic.benchmark;
+
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.Pet;
+import org.springframework.samples.petclinic.model.PetType;
+import org.springframework.samples.petclinic.model.Specialty;
+import org.springframework.samples.petclinic.model.Vet;
+import org.springframework.samples.petclinic.model.Visit;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Builds the entity graphs the benchmarks run on, with names and dates in random order so that sorting them does
+ * actual work; the same seed always builds the same graph.
+ */
+final class EntityGraphs {
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2000, 1, 1);
+
+    private static final PetType CAT = petType(1, "cat");
+
+    private final Random random;
+
+    private int nextId = 1;
+
+    EntityGraphs(long seed) {
+        this.random = new Random(seed);
+    }
+
+    Owner owner(int pets, int visitsPerPet) {
+        Owner owner = new Owner();
+        owner.setId(nextId++);
+        owner.setFirstName(name());
+        owner.setLastName(name());
+        owner.setAddress("110 W. Liberty St.");
+        owner.setCity("Madison");
+        owner.setTelephone("6085551023");
+        for (int i = 0; i < pets; i++) {
+            owner.addPet(pet(visitsPerPet));
+        }
+        return owner;
+    }
+
+    Pet pet(int visits) {
+        Pet pet = new Pet();
+        pet.setId(nextId++);
+        pet.setName(name());
+        pet.setBirthDate(date());
+        pet.setType(CAT);
+        for (int i = 0; i < visits; i++) {
+            pet.addVisit(new Visit(nextId++, pet.getId(), date(), "rabies shot"));
+        }
+        return pet;
+    }
+
+    Vet vet(int specialties) {
+        Vet vet = new Vet();
+        vet.setId(nextId++);
+        vet.setFirstName(name());
+        vet.setLastName(name());
+        for (int i = 0; i < specialties; i++) {
+            Specialty specialty = new Specialty();
+            specialty.setId(nextId++);
+            specialty.setName(name());
+            vet.addSpecialty(specialty);
+        }
+        return vet;
+    }
+
+    static PetType petType(int id, String name) {
+        PetType petType = new PetType();
+        petType.setId(id);
+        petType.setName(name);
+        return petType;
+    }
+
+    private String name() {
+        char[] name = new char[8];
+        for (int i = 0; i < name.length; i++) {
+            name[i] = (char) ('a' + random.nextInt(26));
+        }
+        name[0] = Character.toUpperCase(name[0]);
+        return new String(name);
+    }
+
+    private LocalDate date() {
+        return FIRST_DATE.plusDays(random.nextInt(8000));
+    }
+
+}
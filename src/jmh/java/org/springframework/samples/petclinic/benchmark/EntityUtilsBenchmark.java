@@ -0,0 +1,70 @@
+package org.springframework.samples.petclinic.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.samples.petclinic.model.PetType;
+import org.springframework.samples.petclinic.util.EntityUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EntityUtils#getById}, the linear scan the JDBC repositories use to attach pet types, owners and specialties
+ * to each row they map, so that mapping <i>n</i> rows costs <i>n</i> scans of the reference list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EntityUtilsBenchmark {
+
+    @Param({"6", "100", "10000"})
+    private int entities;
+
+    private List<PetType> petTypes;
+
+    private int firstId;
+
+    private int middleId;
+
+    private int lastId;
+
+    @Setup
+    public void buildEntities() {
+        petTypes = new ArrayList<>(entities);
+        for (int id = 1; id <= entities; id++) {
+            petTypes.add(EntityGraphs.petType(id, "type" + id));
+        }
+        firstId = 1;
+        middleId = entities / 2 + 1;
+        lastId = entities;
+    }
+
+    @Benchmark
+    public PetType first() {
+        return EntityUtils.getById(petTypes, PetType.class, firstId);
+    }
+
+    @Benchmark
+    public PetType middle() {
+        return EntityUtils.getById(petTypes, PetType.class, middleId);
+    }
+
+    @Benchmark
+    public PetType last() {
+        return EntityUtils.getById(petTypes, PetType.class, lastId);
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.springframework.samples.petclinic.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.samples.petclinic.mapper.OwnerMapper;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.rest.dto.OwnerDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OwnerMapper#toOwnerDtoCollection}, which maps a page of owners with all their pets and visits, as
+ * <code>GET /api/owners</code> does. The mappers come from a Spring context, as MapStruct generates them for
+ * injection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OwnerMapperBenchmark {
+
+    /**
+     * One owner, as <code>GET /api/owners/{ownerId}</code> maps, or a full page.
+     */
+    @Param({"1", "100"})
+    private int owners;
+
+    @Param({"2", "20"})
+    private int petsPerOwner;
+
+    @Param({"5"})
+    private int visitsPerPet;
+
+    private AnnotationConfigApplicationContext context;
+
+    private OwnerMapper ownerMapper;
+
+    private List<Owner> page;
+
+    @Setup
+    public void buildPage() {
+        context = new AnnotationConfigApplicationContext("org.springframework.samples.petclinic.mapper");
+        ownerMapper = context.getBean(OwnerMapper.class);
+        EntityGraphs graphs = new EntityGraphs(42);
+        page = new ArrayList<>(owners);
+        for (int i = 0; i < owners; i++) {
+            page.add(graphs.owner(petsPerOwner, visitsPerPet));
+        }
+    }
+
+    @TearDown
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<OwnerDto> toOwnerDtoCollection() {
+        return ownerMapper.toOwnerDtoCollection(page);
+    }
+
+}
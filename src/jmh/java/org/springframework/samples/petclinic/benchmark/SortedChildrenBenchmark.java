@@ -0,0 +1,71 @@
+package org.springframework.samples.petclinic.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.Pet;
+import org.springframework.samples.petclinic.model.Specialty;
+import org.springframework.samples.petclinic.model.Vet;
+import org.springframework.samples.petclinic.model.Visit;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The getters of the child collections, which return them sorted: {@link Owner#getPets()} by name,
+ * {@link Pet#getVisits()} by date and {@link Vet#getSpecialties()} by name. They are called by the mappers for every
+ * entity of every response, and the JSON serialization calls them again.
+ * <p>
+ * <code>children</code> goes from a typical owner to the largest ones of the <code>generate-data</code> dataset, where
+ * an owner has up to 300 pets and a pet up to 500 visits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SortedChildrenBenchmark {
+
+    @Param({"1", "5", "50", "500"})
+    private int children;
+
+    private Owner owner;
+
+    private Pet pet;
+
+    private Vet vet;
+
+    @Setup
+    public void buildGraph() {
+        EntityGraphs graphs = new EntityGraphs(42);
+        owner = graphs.owner(children, 0);
+        pet = graphs.pet(children);
+        vet = graphs.vet(children);
+    }
+
+    @Benchmark
+    public List<Pet> ownerPets() {
+        return owner.getPets();
+    }
+
+    @Benchmark
+    public List<Visit> petVisits() {
+        return pet.getVisits();
+    }
+
+    @Benchmark
+    public List<Specialty> vetSpecialties() {
+        return vet.getSpecialties();
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.springframework.samples.petclinic.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Scheduler the blocking JDBC/JPA services run on when called from WebFlux controllers. The
+ * <code>virtual-threads</code> profile runs every call on its own virtual thread; otherwise calls go to Reactor's
+ * bounded elastic pool.
+ */
+@Configuration
+public class BlockingSchedulerConfig {
+
+    public static final String BLOCKING_SCHEDULER = "blockingScheduler";
+
+    @Bean(name = BLOCKING_SCHEDULER, destroyMethod = "dispose")
+    @Profile("virtual-threads")
+    public Scheduler virtualThreadScheduler() {
+        return Schedulers.fromExecutorService(newVirtualThreadPerTaskExecutor(), "virtual-threads");
+    }
+
+    @Bean(name = BLOCKING_SCHEDULER, destroyMethod = "")
+    @Profile("!virtual-threads")
+    public Scheduler boundedElasticScheduler() {
+        return Schedulers.boundedElastic();
+    }
+
+    /**
+     * Looked up at runtime: the method is a preview API on Java 19 and the tree is also built on JDKs without it.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class,
+                "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) factory.invokeExact();
+        } catch (NoSuchMethodException | IllegalAccessException | UnsupportedOperationException e) {
+            throw new IllegalStateException("The virtual-threads profile needs Java 19 with --enable-preview or Java 21+", e);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create the virtual thread executor", e);
+        }
+    }
+
+}
@@ -44,6 +44,11 @@ public class Config {
         return dataSource;
     }
 
+    /**
+     * Primary so that the unqualified <code>@Transactional</code> of the blocking services resolves to it; reactive
+     * services name <code>connectionFactoryTransactionManager</code> explicitly.
+     */
+    @Primary
     @Bean
     public DataSourceTransactionManager transactionManager(HikariDataSource dataSource) {
         return new JdbcTransactionManager(dataSource);
@@ -0,0 +1,32 @@
+package org.springframework.samples.petclinic.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.samples.petclinic.service.BlockingServiceAdapter;
+import org.springframework.samples.petclinic.service.ReactiveClinicService;
+import org.springframework.samples.petclinic.service.ReactiveVetService;
+
+/**
+ * Service the vet and specialty endpoints use. The <code>blocking-vets</code> profile serves them from the blocking
+ * repository layer on the blocking scheduler (add <code>virtual-threads</code> to run it on virtual threads), so that
+ * the two paths can be compared under the same load; otherwise they are served from R2DBC.
+ */
+@Configuration
+public class VetServiceConfig {
+
+    public static final String VET_SERVICE = "vetService";
+
+    @Bean(name = VET_SERVICE)
+    @Profile("blocking-vets")
+    public ReactiveVetService blockingVetService(BlockingServiceAdapter blockingServiceAdapter) {
+        return blockingServiceAdapter;
+    }
+
+    @Bean(name = VET_SERVICE)
+    @Profile("!blocking-vets")
+    public ReactiveVetService r2dbcVetService(ReactiveClinicService reactiveClinicService) {
+        return reactiveClinicService;
+    }
+
+}
@@ -0,0 +1,222 @@
+package org.springframework.samples.petclinic.dataset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the database with a synthetic dataset at startup, for measuring the application at production scale. Enabled
+ * by the <code>generate-data</code> profile; the rows are added to whatever the database already holds.
+ * <p>
+ * The data is skewed the way real data is: last names and cities follow a Zipf distribution, and so do the number of
+ * pets per owner and of visits per pet, so that most owners have one or two pets while a few have hundreds. The same
+ * seed always produces the same rows. Ids are assigned here rather than by the database, so that rows can be written
+ * with multi-row <code>INSERT</code>s of <code>petclinic.dataset.batch-size</code> rows; the id sequences are moved
+ * past them afterwards.
+ */
+@Component
+@Profile("generate-data")
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final List<String> COMMON_LAST_NAMES = List.of("Smith", "Johnson", "Williams", "Brown", "Jones",
+        "Garcia", "Miller", "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson",
+        "Thomas", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris");
+
+    private static final String[] NAME_SYLLABLES = {"al", "ber", "cas", "dor", "el", "fin", "gar", "hol", "is", "jan",
+        "kel", "lin", "mor", "nev", "or", "par", "quin", "ros", "sel", "tor", "ul", "van", "wes", "yar", "zel"};
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael",
+        "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah",
+        "Charles", "Karen", "Daniel", "Lisa", "Matthew", "Nancy", "Anthony", "Betty", "Mark", "Sandra", "Paul", "Ashley"};
+
+    private static final String[] CITIES = {"Madison", "Sun Prairie", "McFarland", "Windsor", "Monona", "Waunakee",
+        "Middleton", "Verona", "Fitchburg", "Stoughton", "Oregon", "Cottage Grove", "DeForest", "Mount Horeb",
+        "Cross Plains", "Deerfield", "Marshall", "Belleville", "Black Earth", "Mazomanie"};
+
+    private static final String[] STREETS = {"Main St.", "Oak Ave.", "Maple St.", "Cedar Ct.", "Lake St.",
+        "Liberty St.", "Cardinal Ave.", "Washington Blvd.", "Park Rd.", "Hill Dr.", "River Rd.", "Elm St."};
+
+    private static final String[] PET_NAMES = {"Leo", "Basil", "Rosy", "Jewel", "Iggy", "George", "Samantha", "Max",
+        "Lucky", "Mulligan", "Freddy", "Sly", "Bella", "Luna", "Charlie", "Daisy", "Milo", "Coco", "Rocky", "Ginger",
+        "Oscar", "Pepper", "Toby", "Zoe", "Buddy", "Nala", "Simba", "Chloe", "Jack", "Penny"};
+
+    private static final String[] VISIT_DESCRIPTIONS = {"rabies shot", "neutered", "spayed", "annual checkup",
+        "dental cleaning", "vaccination", "limping", "skin allergy", "ear infection", "upset stomach"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String database;
+
+    private final int owners;
+
+    private final int batchSize;
+
+    private final long seed;
+
+    private final ZipfDistribution lastNames;
+
+    private final ZipfDistribution cities = new ZipfDistribution(CITIES.length, 1.0);
+
+    private final ZipfDistribution petsPerOwner;
+
+    private final ZipfDistribution visitsPerPet;
+
+    private final List<Object[]> ownerRows = new ArrayList<>();
+
+    private final List<Object[]> petRows = new ArrayList<>();
+
+    private final List<Object[]> visitRows = new ArrayList<>();
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate,
+                            @Value("${database}") String database,
+                            @Value("${petclinic.dataset.owners:100000}") int owners,
+                            @Value("${petclinic.dataset.last-names:5000}") int lastNames,
+                            @Value("${petclinic.dataset.last-names-exponent:1.0}") double lastNamesExponent,
+                            @Value("${petclinic.dataset.pets-per-owner.max:300}") int maxPetsPerOwner,
+                            @Value("${petclinic.dataset.pets-per-owner.exponent:2.0}") double petsPerOwnerExponent,
+                            @Value("${petclinic.dataset.visits-per-pet.max:500}") int maxVisitsPerPet,
+                            @Value("${petclinic.dataset.visits-per-pet.exponent:2.0}") double visitsPerPetExponent,
+                            @Value("${petclinic.dataset.batch-size:1000}") int batchSize,
+                            @Value("${petclinic.dataset.seed:42}") long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.database = database;
+        this.owners = owners;
+        this.batchSize = batchSize;
+        this.seed = seed;
+        this.lastNames = new ZipfDistribution(lastNames, lastNamesExponent);
+        this.petsPerOwner = new ZipfDistribution(maxPetsPerOwner, petsPerOwnerExponent);
+        // rank 1 stands for no visits at all
+        this.visitsPerPet = new ZipfDistribution(maxVisitsPerPet + 1, visitsPerPetExponent);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Integer> petTypeIds = jdbcTemplate.queryForList("SELECT id FROM types ORDER BY id", Integer.class);
+        if (petTypeIds.isEmpty()) {
+            throw new IllegalStateException("The types table is empty; pets cannot be generated without pet types");
+        }
+        double expectedPets = owners * petsPerOwner.mean();
+        logger.info("Generating {} owners, about {} pets and {} visits", owners, Math.round(expectedPets),
+            Math.round(expectedPets * (visitsPerPet.mean() - 1)));
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int ownerId = maxId("owners");
+        int petId = maxId("pets");
+        int visitId = maxId("visits");
+        int firstOwnerId = ownerId + 1;
+        long startedAt = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        for (int i = 1; i <= owners; i++) {
+            add(ownerRows, ++ownerId, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)], lastName(lastNames.sample(random)),
+                (1 + random.nextInt(9999)) + " " + STREETS[random.nextInt(STREETS.length)],
+                CITIES[cities.sample(random) - 1], String.format("608555%04d", random.nextInt(10000)));
+            int pets = petsPerOwner.sample(random);
+            for (int p = 0; p < pets; p++) {
+                LocalDate birthDate = today.minusDays(random.nextInt(20 * 365));
+                add(petRows, ++petId, PET_NAMES[random.nextInt(PET_NAMES.length)], birthDate,
+                    petTypeIds.get(random.nextInt(petTypeIds.size())), ownerId);
+                int visits = visitsPerPet.sample(random) - 1;
+                long age = Math.max(1, today.toEpochDay() - birthDate.toEpochDay());
+                for (int v = 0; v < visits; v++) {
+                    add(visitRows, ++visitId, petId, birthDate.plusDays(random.nextLong(age)),
+                        VISIT_DESCRIPTIONS[random.nextInt(VISIT_DESCRIPTIONS.length)]);
+                }
+            }
+            if (i % Math.max(1, owners / 10) == 0) {
+                logger.info("Generated {} of {} owners", i, owners);
+            }
+        }
+        flush();
+        restartIdentities();
+        logger.info("Generated owners {} to {} in {} s", firstOwnerId, ownerId,
+            (System.nanoTime() - startedAt) / 1_000_000_000);
+    }
+
+    /**
+     * The most common last names are real ones; the long tail is made of syllables, one distinct name per rank.
+     */
+    static String lastName(int rank) {
+        if (rank <= COMMON_LAST_NAMES.size()) {
+            return COMMON_LAST_NAMES.get(rank - 1);
+        }
+        StringBuilder name = new StringBuilder();
+        int remaining = rank - COMMON_LAST_NAMES.size() - 1;
+        do {
+            name.append(NAME_SYLLABLES[remaining % NAME_SYLLABLES.length]);
+            remaining /= NAME_SYLLABLES.length;
+        } while (remaining > 0);
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    private int maxId(String table) {
+        Integer max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Integer.class);
+        return max != null ? max : 0;
+    }
+
+    /**
+     * Buffers a row. Once any buffer is full, all of them are written, owners first, so that every pet and visit is
+     * inserted after the row it references.
+     */
+    private void add(List<Object[]> rows, Object... row) {
+        rows.add(row);
+        if (rows.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        insert("owners", "id, first_name, last_name, address, city, telephone", ownerRows);
+        insert("pets", "id, name, birth_date, type_id, owner_id", petRows);
+        insert("visits", "id, pet_id, visit_date, description", visitRows);
+    }
+
+    private void insert(String table, String columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String row = "(" + String.join(", ", Collections.nCopies(rows.get(0).length, "?")) + ")";
+        jdbcTemplate.update("INSERT INTO " + table + " (" + columns + ") VALUES "
+                + String.join(", ", Collections.nCopies(rows.size(), row)),
+            rows.stream().flatMap(Arrays::stream).toArray());
+        rows.clear();
+    }
+
+    /**
+     * Moves the id sequences past the generated ids, so that the application can insert again, and refreshes the
+     * planner statistics, which would otherwise still describe the tables as they were before.
+     */
+    private void restartIdentities() {
+        for (String table : List.of("owners", "pets", "visits")) {
+            switch (database) {
+                case "postgresql" -> {
+                    jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                        + "(SELECT MAX(id) FROM " + table + "))", Long.class);
+                    jdbcTemplate.execute("ANALYZE " + table);
+                }
+                case "h2" -> jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH "
+                    + (maxId(table) + 1));
+                case "mysql" -> jdbcTemplate.execute("ANALYZE TABLE " + table);
+                default -> throw new IllegalStateException("Unsupported database: " + database);
+            }
+        }
+        if ("h2".equals(database)) {
+            jdbcTemplate.execute("ANALYZE");
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package org.springframework.samples.petclinic.dataset;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws ranks <code>1..n</code> with a probability proportional to <code>1 / rank^exponent</code>: rank 1 is the most
+ * frequent, and the larger the exponent, the faster the frequency falls off. Sampling is a binary search over the
+ * cumulative distribution, which is computed once.
+ */
+final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    ZipfDistribution(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be at least 1, was " + n);
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += Math.pow(rank, -exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = (index >= 0 ? index : -index - 1) + 1;
+        return Math.min(rank, cumulative.length);
+    }
+
+    double mean() {
+        double mean = 0;
+        double previous = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            mean += (i + 1) * (cumulative[i] - previous);
+            previous = cumulative[i];
+        }
+        return mean;
+    }
+
+}
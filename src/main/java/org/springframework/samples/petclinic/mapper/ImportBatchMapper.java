@@ -0,0 +1,15 @@
+package org.springframework.samples.petclinic.mapper;
+
+import org.mapstruct.Mapper;
+import org.springframework.samples.petclinic.rest.dto.ImportBatchDto;
+import org.springframework.samples.petclinic.service.ImportBatch;
+
+/**
+ * Map ImportBatch & ImportBatchDto using mapstruct
+ */
+@Mapper
+public interface ImportBatchMapper {
+
+    ImportBatchDto toImportBatchDto(ImportBatch importBatch);
+
+}
@@ -1,9 +1,13 @@
 package org.springframework.samples.petclinic.mapper;
 
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.NullValueCheckStrategy;
 import org.springframework.samples.petclinic.rest.dto.OwnerDto;
 import org.springframework.samples.petclinic.model.Owner;
 import org.springframework.samples.petclinic.rest.dto.OwnerFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.OwnerPatchDto;
+import org.springframework.samples.petclinic.rest.dto.OwnerRegistrationDto;
 
 import java.util.Collection;
 import java.util.List;
@@ -20,6 +24,13 @@ public interface OwnerMapper {
 
     Owner toOwner(OwnerFieldsDto ownerDto);
 
+    @BeanMapping(nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
+    Owner toOwner(OwnerRegistrationDto ownerRegistrationDto);
+
+    Owner toOwner(OwnerPatchDto ownerPatchDto);
+
+    OwnerFieldsDto toOwnerFieldsDto(Owner owner);
+
     List<OwnerDto> toOwnerDtoCollection(Collection<Owner> ownerCollection);
 
     Collection<Owner> toOwners(Collection<OwnerDto> ownerDtos);
@@ -1,11 +1,16 @@
 package org.springframework.samples.petclinic.mapper;
 
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.NullValueCheckStrategy;
 import org.springframework.samples.petclinic.model.Pet;
 import org.springframework.samples.petclinic.model.PetType;
 import org.springframework.samples.petclinic.rest.dto.PetDto;
 import org.springframework.samples.petclinic.rest.dto.PetFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.PetImportDto;
+import org.springframework.samples.petclinic.rest.dto.PetPatchDto;
+import org.springframework.samples.petclinic.rest.dto.PetRegistrationDto;
 import org.springframework.samples.petclinic.rest.dto.PetTypeDto;
 
 import java.util.Collection;
@@ -28,6 +33,16 @@ public interface PetMapper {
 
     Pet toPet(PetFieldsDto petFieldsDto);
 
+    @BeanMapping(nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
+    @Mapping(source = "type.id", target = "typeId")
+    Pet toPet(PetRegistrationDto petRegistrationDto);
+
+    Pet toPet(PetPatchDto petPatchDto);
+
+    Pet toPet(PetImportDto petImportDto);
+
+    PetFieldsDto toPetFieldsDto(Pet pet);
+
     PetTypeDto toPetTypeDto(PetType petType);
 
     PetType toPetType(PetTypeDto petTypeDto);
@@ -5,6 +5,7 @@ import org.springframework.samples.petclinic.rest.dto.SpecialtyDto;
 import org.springframework.samples.petclinic.model.Specialty;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Map Specialty & SpecialtyDto using mapstruct
@@ -15,7 +16,7 @@ public interface SpecialtyMapper {
 
     SpecialtyDto toSpecialtyDto(Specialty specialty);
 
-    Collection<SpecialtyDto> toSpecialtyDtos(Collection<Specialty> specialties);
+    List<SpecialtyDto> toSpecialtyDtos(Collection<Specialty> specialties);
 
     Collection<Specialty> toSpecialtys(Collection<SpecialtyDto> specialties);
 
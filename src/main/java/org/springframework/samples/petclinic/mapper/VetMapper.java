@@ -6,6 +6,7 @@ import org.springframework.samples.petclinic.model.Vet;
 import org.springframework.samples.petclinic.rest.dto.VetFieldsDto;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Map Vet & VetoDto using mapstruct
@@ -18,5 +19,5 @@ public interface VetMapper {
 
     VetDto toVetDto(Vet vet);
 
-    Collection<VetDto> toVetDtos(Collection<Vet> vets);
+    List<VetDto> toVetDtos(Collection<Vet> vets);
 }
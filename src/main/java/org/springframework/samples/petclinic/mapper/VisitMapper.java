@@ -5,6 +5,8 @@ import org.mapstruct.Mapping;
 import org.springframework.samples.petclinic.model.Visit;
 import org.springframework.samples.petclinic.rest.dto.VisitDto;
 import org.springframework.samples.petclinic.rest.dto.VisitFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.VisitImportDto;
+import org.springframework.samples.petclinic.rest.dto.VisitPatchDto;
 
 import java.util.Collection;
 import java.util.List;
@@ -18,6 +20,12 @@ public interface VisitMapper {
 
     Visit toVisit(VisitFieldsDto visitFieldsDto);
 
+    Visit toVisit(VisitPatchDto visitPatchDto);
+
+    Visit toVisit(VisitImportDto visitImportDto);
+
+    VisitFieldsDto toVisitFieldsDto(Visit visit);
+
     @Mapping(source = "pet.id", target = "petId")
     VisitDto toVisitDto(Visit visit);
 
@@ -23,13 +23,11 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotEmpty;
-import org.springframework.beans.support.MutableSortDefinition;
-import org.springframework.beans.support.PropertyComparator;
 import org.springframework.core.style.ToStringCreator;
 import org.springframework.data.annotation.Transient;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -46,6 +44,9 @@ import java.util.Set;
 @Table(name = "owners")
 @org.springframework.data.relational.core.mapping.Table("owners")
 public class Owner extends Person {
+    private static final Comparator<Pet> BY_NAME =
+        Comparator.comparing(Pet::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
     @Column(name = "address")
     @org.springframework.data.relational.core.mapping.Column
     @NotEmpty
@@ -66,6 +67,12 @@ public class Owner extends Person {
     @Transient
     private Set<Pet> pets;
 
+    /**
+     * The pets sorted by name, computed on the first call to {@link #getPets()} after the pets change. An immutable
+     * list, so a thread that reads it without synchronization still sees it fully built.
+     */
+    @Transient
+    private transient List<Pet> sortedPets;
 
     public String getAddress() {
         return this.address;
@@ -100,20 +107,31 @@ public class Owner extends Person {
 
     protected void setPetsInternal(Set<Pet> pets) {
         this.pets = pets;
+        this.sortedPets = null;
     }
 
+    /**
+     * @return the pets sorted by name, ignoring case; the same list until pets are added or replaced, so a pet
+     * renamed in place keeps its position until then
+     */
     public List<Pet> getPets() {
-        List<Pet> sortedPets = new ArrayList<>(getPetsInternal());
-        PropertyComparator.sort(sortedPets, new MutableSortDefinition("name", true, true));
-        return Collections.unmodifiableList(sortedPets);
+        List<Pet> sorted = this.sortedPets;
+        if (sorted == null) {
+            List<Pet> pets = new ArrayList<>(getPetsInternal());
+            pets.sort(BY_NAME);
+            sorted = List.copyOf(pets);
+            this.sortedPets = sorted;
+        }
+        return sorted;
     }
 
     public void setPets(List<Pet> pets) {
-        this.pets = new HashSet<>(pets);
+        setPetsInternal(new HashSet<>(pets));
     }
 
     public void addPet(Pet pet) {
         getPetsInternal().add(pet);
+        this.sortedPets = null;
         pet.setOwner(this);
     }
 
@@ -23,13 +23,11 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
-import org.springframework.beans.support.MutableSortDefinition;
-import org.springframework.beans.support.PropertyComparator;
 import org.springframework.data.annotation.Transient;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -47,6 +45,9 @@ import java.util.Set;
 @org.springframework.data.relational.core.mapping.Table("pets")
 public class Pet extends NamedEntity {
 
+    private static final Comparator<Visit> MOST_RECENT_FIRST =
+        Comparator.comparing(Visit::getDate, Comparator.nullsFirst(Comparator.<LocalDate>reverseOrder()));
+
     @Column(name = "birth_date", columnDefinition = "DATE")
     @org.springframework.data.relational.core.mapping.Column("birth_date")
     private LocalDate birthDate;
@@ -71,6 +72,13 @@ public class Pet extends NamedEntity {
     @Transient
     private Set<Visit> visits;
 
+    /**
+     * The visits sorted by date, computed on the first call to {@link #getVisits()} after the visits change. An
+     * immutable list, so a thread that reads it without synchronization still sees it fully built.
+     */
+    @Transient
+    private transient List<Visit> sortedVisits;
+
     public LocalDate getBirthDate() {
         return this.birthDate;
     }
@@ -120,20 +128,31 @@ public class Pet extends NamedEntity {
 
     protected void setVisitsInternal(Set<Visit> visits) {
         this.visits = visits;
+        this.sortedVisits = null;
     }
 
+    /**
+     * @return the visits, most recent first; the same list until visits are added or replaced, so a visit whose date
+     * changes in place keeps its position until then
+     */
     public List<Visit> getVisits() {
-        List<Visit> sortedVisits = new ArrayList<>(getVisitsInternal());
-        PropertyComparator.sort(sortedVisits, new MutableSortDefinition("date", false, false));
-        return Collections.unmodifiableList(sortedVisits);
+        List<Visit> sorted = this.sortedVisits;
+        if (sorted == null) {
+            List<Visit> visits = new ArrayList<>(getVisitsInternal());
+            visits.sort(MOST_RECENT_FIRST);
+            sorted = List.copyOf(visits);
+            this.sortedVisits = sorted;
+        }
+        return sorted;
     }
 
     public void setVisits(List<Visit> visits) {
-        this.visits = new HashSet<>(visits);
+        setVisitsInternal(new HashSet<>(visits));
     }
 
     public void addVisit(Visit visit) {
         getVisitsInternal().add(visit);
+        this.sortedVisits = null;
         visit.setPet(this);
     }
 
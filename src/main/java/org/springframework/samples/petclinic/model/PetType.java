@@ -24,6 +24,7 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "types")
+@org.springframework.data.relational.core.mapping.Table("types")
 public class PetType extends NamedEntity {
     public PetType() {
     }
@@ -25,6 +25,7 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "specialties")
+@org.springframework.data.relational.core.mapping.Table("specialties")
 public class Specialty extends NamedEntity {
 
 }
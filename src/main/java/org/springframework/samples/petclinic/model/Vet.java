@@ -16,8 +16,7 @@
 package org.springframework.samples.petclinic.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import org.springframework.beans.support.MutableSortDefinition;
-import org.springframework.beans.support.PropertyComparator;
+import org.springframework.data.annotation.Transient;
 
 import jakarta.persistence.*;
 import jakarta.xml.bind.annotation.XmlElement;
@@ -33,13 +32,25 @@ import java.util.*;
  */
 @Entity
 @Table(name = "vets")
+@org.springframework.data.relational.core.mapping.Table("vets")
 public class Vet extends Person {
 
+    private static final Comparator<Specialty> BY_NAME =
+        Comparator.comparing(Specialty::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(name = "vet_specialties", joinColumns = @JoinColumn(name = "vet_id"),
         inverseJoinColumns = @JoinColumn(name = "specialty_id"))
+    @Transient
     private Set<Specialty> specialties;
 
+    /**
+     * The specialties sorted by name, computed on the first call to {@link #getSpecialties()} after they change. An
+     * immutable list, so a thread that reads it without synchronization still sees it fully built.
+     */
+    @Transient
+    private transient List<Specialty> sortedSpecialties;
+
     @JsonIgnore
     protected Set<Specialty> getSpecialtiesInternal() {
         if (this.specialties == null) {
@@ -50,17 +61,27 @@ public class Vet extends Person {
 
     protected void setSpecialtiesInternal(Set<Specialty> specialties) {
         this.specialties = specialties;
+        this.sortedSpecialties = null;
     }
 
+    /**
+     * @return the specialties sorted by name, ignoring case; the same list until specialties are added or replaced,
+     * so a specialty renamed in place keeps its position until then
+     */
     @XmlElement
     public List<Specialty> getSpecialties() {
-        List<Specialty> sortedSpecs = new ArrayList<>(getSpecialtiesInternal());
-        PropertyComparator.sort(sortedSpecs, new MutableSortDefinition("name", true, true));
-        return Collections.unmodifiableList(sortedSpecs);
+        List<Specialty> sorted = this.sortedSpecialties;
+        if (sorted == null) {
+            List<Specialty> specialties = new ArrayList<>(getSpecialtiesInternal());
+            specialties.sort(BY_NAME);
+            sorted = List.copyOf(specialties);
+            this.sortedSpecialties = sorted;
+        }
+        return sorted;
     }
 
     public void setSpecialties(List<Specialty> specialties) {
-        this.specialties = new HashSet<>(specialties);
+        setSpecialtiesInternal(new HashSet<>(specialties));
     }
 
     @JsonIgnore
@@ -70,10 +91,12 @@ public class Vet extends Person {
 
     public void addSpecialty(Specialty specialty) {
         getSpecialtiesInternal().add(specialty);
+        this.sortedSpecialties = null;
     }
 
     public void clearSpecialties() {
         getSpecialtiesInternal().clear();
+        this.sortedSpecialties = null;
     }
 
 }
@@ -0,0 +1,59 @@
+package org.springframework.samples.petclinic.monitoring;
+
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import reactor.core.Disposable;
+
+import java.util.function.Supplier;
+
+/**
+ * Wraps the <code>connectionFactory</code> bean auto-configured by Spring Boot, which <code>DatabaseClient</code>,
+ * and so <code>DSLAccess</code> and the Spring Data repositories, use, in an r2dbc-proxy reporting to a listener.
+ * Other connection factories are left alone.
+ * <p>
+ * The pool's own destroy method is declared on the pool class and cannot be found on the proxy, so the pool is
+ * disposed here when the context closes, looked up through the proxies wrapping it.
+ */
+class ConnectionFactoryProxyPostProcessor implements DestructionAwareBeanPostProcessor {
+
+    static final String CONNECTION_FACTORY = "connectionFactory";
+
+    private final Supplier<? extends ProxyExecutionListener> listener;
+
+    ConnectionFactoryProxyPostProcessor(Supplier<? extends ProxyExecutionListener> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (CONNECTION_FACTORY.equals(beanName) && bean instanceof ConnectionFactory connectionFactory) {
+            return ProxyConnectionFactory.builder(connectionFactory)
+                .listener(listener.get())
+                .build();
+        }
+        return bean;
+    }
+
+    @Override
+    public boolean requiresDestruction(Object bean) {
+        return bean instanceof ConnectionFactory && bean instanceof Wrapped<?>;
+    }
+
+    @Override
+    public void postProcessBeforeDestruction(Object bean, String beanName) {
+        if (!CONNECTION_FACTORY.equals(beanName)) {
+            return;
+        }
+        Object target = bean;
+        while (!(target instanceof Disposable) && target instanceof Wrapped<?> wrapped) {
+            target = wrapped.unwrap();
+        }
+        if (target instanceof Disposable disposable && !disposable.isDisposed()) {
+            disposable.dispose();
+        }
+    }
+
+}
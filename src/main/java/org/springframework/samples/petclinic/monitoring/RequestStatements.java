@@ -0,0 +1,86 @@
+package org.springframework.samples.petclinic.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * The SQL statements run on behalf of one HTTP request: how many, how many rows they returned, how long they took, and
+ * how often each statement shape ran. Statements of one request may run concurrently, so all counters are
+ * thread-safe.
+ */
+final class RequestStatements {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Pattern PARAMETER = Pattern.compile("\\$\\d+|\\?|\\b\\d+\\b|'(?:[^']|'')*'");
+
+    private static final Pattern PARAMETER_LIST = Pattern.compile(
+        "(?:cast\\(\\? as [a-z ]+\\)|\\?)(?:, ?(?:cast\\(\\? as [a-z ]+\\)|\\?))+", Pattern.CASE_INSENSITIVE);
+
+    private final LongAdder statements = new LongAdder();
+
+    private final LongAdder rows = new LongAdder();
+
+    private final LongAdder nanos = new LongAdder();
+
+    private final Map<String, LongAdder> shapes = new ConcurrentHashMap<>();
+
+    void recordStatement(String sql) {
+        statements.increment();
+        shapes.computeIfAbsent(shape(sql), shape -> new LongAdder()).increment();
+    }
+
+    void recordDuration(long durationNanos) {
+        nanos.add(durationNanos);
+    }
+
+    void recordRow() {
+        rows.increment();
+    }
+
+    long statements() {
+        return statements.sum();
+    }
+
+    long rows() {
+        return rows.sum();
+    }
+
+    long nanos() {
+        return nanos.sum();
+    }
+
+    /**
+     * @return the statement shapes that ran at least <code>threshold</code> times, with how often they ran
+     */
+    Map<String, Long> repeatedShapes(int threshold) {
+        Map<String, Long> repeated = new LinkedHashMap<>();
+        shapes.forEach((shape, count) -> {
+            if (count.sum() >= threshold) {
+                repeated.put(shape, count.sum());
+            }
+        });
+        return repeated;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d statements, %d rows, %.1f ms", statements(), rows(),
+            nanos() / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * The statement with its bind markers, literals and <code>IN</code> lists of any length replaced by
+     * <code>?</code>, so that the same query for different ids has the same shape.
+     */
+    static String shape(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = PARAMETER.matcher(shape).replaceAll("?");
+        return PARAMETER_LIST.matcher(shape).replaceAll("?");
+    }
+
+}
@@ -0,0 +1,114 @@
+package org.springframework.samples.petclinic.monitoring;
+
+import io.r2dbc.proxy.core.Bindings;
+import io.r2dbc.proxy.core.BoundValue;
+import io.r2dbc.proxy.core.ConnectionInfo;
+import io.r2dbc.proxy.core.MethodExecutionInfo;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.spi.ConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Listens to the statements run through the proxied <code>ConnectionFactory</code>: logs those slower than
+ * <code>slowThreshold</code> with their bind values, and adds each statement and row to the
+ * {@link RequestStatements} of the HTTP request it ran for.
+ * <p>
+ * The request is found in the Reactor context of the subscriber that acquired the connection, which is remembered on
+ * the connection: jOOQ subscribes to statements with its own subscribers, which do not carry the context.
+ * Statements run on a connection acquired outside of any request, such as batched lookups shared by several requests,
+ * are not attributed.
+ */
+class StatementListener implements ProxyExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementListener.class);
+
+    private final Duration slowThreshold;
+
+    StatementListener(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionInfo executionInfo) {
+        ConnectionInfo connectionInfo = executionInfo.getConnectionInfo();
+        if (connectionInfo != null && executionInfo.getTarget() instanceof ConnectionFactory
+            && "create".equals(executionInfo.getMethod().getName())) {
+            ContextView context = executionInfo.getValueStore().get(ContextView.class, ContextView.class);
+            if (context != null) {
+                context.getOrEmpty(RequestStatements.class)
+                    .ifPresent(statements -> connectionInfo.getValueStore().put(RequestStatements.class, statements));
+            }
+        }
+    }
+
+    /**
+     * Statements are counted as they start: a statement whose result is read by a publisher that completes after the
+     * response, as jOOQ does for updates, only reaches {@link #afterQuery} once the request is over.
+     */
+    @Override
+    public void beforeQuery(QueryExecutionInfo executionInfo) {
+        RequestStatements statements = requestStatements(executionInfo);
+        if (statements != null) {
+            executionInfo.getQueries().forEach(query -> statements.recordStatement(query.getQuery()));
+        }
+    }
+
+    @Override
+    public void eachQueryResult(QueryExecutionInfo executionInfo) {
+        RequestStatements statements = requestStatements(executionInfo);
+        if (statements != null) {
+            statements.recordRow();
+        }
+    }
+
+    @Override
+    public void afterQuery(QueryExecutionInfo executionInfo) {
+        Duration duration = executionInfo.getExecuteDuration();
+        RequestStatements statements = requestStatements(executionInfo);
+        if (statements != null) {
+            statements.recordDuration(duration.toNanos());
+        }
+        if (duration.compareTo(slowThreshold) >= 0 && logger.isWarnEnabled()) {
+            logger.warn("Slow statement, {} ms{}: {}", duration.toMillis(),
+                executionInfo.isSuccess() ? "" : " (failed)",
+                executionInfo.getQueries().stream().map(StatementListener::describe).collect(Collectors.joining("; ")));
+        }
+    }
+
+    private static RequestStatements requestStatements(QueryExecutionInfo executionInfo) {
+        ConnectionInfo connectionInfo = executionInfo.getConnectionInfo();
+        return connectionInfo == null ? null
+            : connectionInfo.getValueStore().get(RequestStatements.class, RequestStatements.class);
+    }
+
+    private static String describe(QueryInfo query) {
+        if (query.getBindingsList().isEmpty()) {
+            return query.getQuery();
+        }
+        return query.getQuery() + " with " + query.getBindingsList().stream()
+            .map(StatementListener::describe)
+            .collect(Collectors.joining(", "));
+    }
+
+    private static String describe(Bindings bindings) {
+        return Stream.concat(bindings.getIndexBindings().stream(), bindings.getNamedBindings().stream())
+            .map(binding -> binding.getKey() + "=" + describe(binding.getBoundValue()))
+            .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String describe(BoundValue value) {
+        if (value.isNull()) {
+            return "null";
+        }
+        return value.getValue() instanceof CharSequence text ? "'" + text + "'" : String.valueOf(value.getValue());
+    }
+
+}
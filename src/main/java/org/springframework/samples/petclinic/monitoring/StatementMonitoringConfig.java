@@ -0,0 +1,45 @@
+package org.springframework.samples.petclinic.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Wraps the R2DBC <code>connectionFactory</code>, used by both <code>DSLAccess</code> and the Spring Data
+ * repositories, in an r2dbc-proxy that reports the statements run to a {@link StatementListener}, and registers the
+ * {@link StatementMonitoringWebFilter} that attributes them to HTTP requests. Disabled with
+ * <code>petclinic.statements.monitoring.enabled=false</code>.
+ */
+@Configuration
+@ConditionalOnProperty(name = "petclinic.statements.monitoring.enabled", matchIfMissing = true)
+public class StatementMonitoringConfig {
+
+    @Bean
+    StatementListener statementListener(@Value("${petclinic.statements.slow-threshold:100ms}") Duration slowThreshold) {
+        return new StatementListener(slowThreshold);
+    }
+
+    @Bean
+    StatementMonitoringWebFilter statementMonitoringWebFilter(MeterRegistry meterRegistry,
+        @Value("${petclinic.statements.repeated-threshold:10}") int repeatedThreshold,
+        @Value("${petclinic.statements.repeated-excluded:}") Set<String> repeatedExcluded) {
+        return new StatementMonitoringWebFilter(meterRegistry, repeatedThreshold, repeatedExcluded);
+    }
+
+    /**
+     * Static, as bean post-processors are created before other beans; the listener is only looked up once the
+     * connection factory is.
+     */
+    @Bean
+    static ConnectionFactoryProxyPostProcessor statementMonitoringConnectionFactoryPostProcessor(
+        ObjectProvider<StatementListener> listener) {
+        return new ConnectionFactoryProxyPostProcessor(listener::getObject);
+    }
+
+}
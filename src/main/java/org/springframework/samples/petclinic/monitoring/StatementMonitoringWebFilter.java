@@ -0,0 +1,84 @@
+package org.springframework.samples.petclinic.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the statements each HTTP request runs into a {@link RequestStatements}, put in the Reactor context for
+ * {@link StatementListener}. Once the request is handled, records the number of statements, rows and the time spent in
+ * them as meters tagged with the method and the URI pattern, logs them at debug level, and warns when the same
+ * statement shape ran <code>repeatedThreshold</code> times or more, which usually means a query in a loop (N+1).
+ * Endpoints that page through a table one query per chunk, such as the stream and export endpoints, repeat their
+ * statement by design and are listed in <code>repeatedExcluded</code>.
+ */
+class StatementMonitoringWebFilter implements WebFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementMonitoringWebFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final int repeatedThreshold;
+
+    private final Set<String> repeatedExcluded;
+
+    StatementMonitoringWebFilter(MeterRegistry meterRegistry, int repeatedThreshold, Set<String> repeatedExcluded) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedThreshold = repeatedThreshold;
+        this.repeatedExcluded = repeatedExcluded;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        RequestStatements statements = new RequestStatements();
+        return chain.filter(exchange)
+            .doFinally(signal -> report(exchange, statements))
+            .contextWrite(context -> context.put(RequestStatements.class, statements));
+    }
+
+    private void report(ServerWebExchange exchange, RequestStatements statements) {
+        PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return;
+        }
+        String request = exchange.getRequest().getMethod().name() + " " + pattern.getPatternString();
+        Tags tags = Tags.of("method", exchange.getRequest().getMethod().name(), "uri", pattern.getPatternString());
+        DistributionSummary.builder("petclinic.request.statements")
+            .description("Number of SQL statements run for one HTTP request")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(statements.statements());
+        DistributionSummary.builder("petclinic.request.rows")
+            .description("Number of rows returned by the SQL statements run for one HTTP request")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(statements.rows());
+        Timer.builder("petclinic.request.statements.time")
+            .description("Time spent running the SQL statements of one HTTP request")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(statements.nanos(), TimeUnit.NANOSECONDS);
+        logger.debug("{}: {}", request, statements);
+        if (repeatedExcluded.contains(pattern.getPatternString())) {
+            return;
+        }
+        for (Map.Entry<String, Long> repeated : statements.repeatedShapes(repeatedThreshold).entrySet()) {
+            logger.warn("{} ran the same statement {} times, possibly a query in a loop: {}", request,
+                repeated.getValue(), repeated.getKey());
+        }
+    }
+
+}
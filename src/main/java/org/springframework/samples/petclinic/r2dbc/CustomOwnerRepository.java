@@ -16,9 +16,12 @@
 package org.springframework.samples.petclinic.r2dbc;
 
 import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.Pet;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * Repository class for <code>Owner</code> domain objects
  */
@@ -42,4 +45,60 @@ public interface CustomOwnerRepository {
      */
     Mono<Owner> findById(int id);
 
+    /**
+     * Retrieve a page of <code>Owner</code>s with an id greater than <code>afterId</code>, ordered by id.
+     *
+     * @param lastName if not <code>null</code>, only owners whose last name <i>starts</i> with it are returned
+     * @param afterId  the id of the last owner of the previous page, or <code>0</code> for the first page
+     * @param limit    the maximum number of owners to return
+     * @return a <code>Flux</code> of at most <code>limit</code> <code>Owner</code>s
+     */
+    Flux<Owner> findPage(String lastName, int afterId, int limit);
+
+    /**
+     * Retrieve an <code>Owner</code> with its pets and visits as a JSON document rendered by the database, in the
+     * shape of <code>OwnerDto</code> and in the order of {@link Owner#getPets()} and {@link Pet#getVisits()}: pets
+     * sorted by name ignoring case, visits by date, newest first with undated visits before them.
+     *
+     * @param id the id to search for
+     * @return the JSON document if the owner was found
+     */
+    Mono<String> findJsonById(int id);
+
+    /**
+     * Insert <code>Owner</code>s with one multi-row <code>INSERT ... RETURNING</code> statement.
+     *
+     * @param owners the <code>Owner</code>s to insert; their ids are ignored
+     * @return the generated ids, in the order of <code>owners</code>
+     */
+    Flux<Integer> insertAll(List<Owner> owners);
+
+    /**
+     * Retrieve all <code>Owner</code>s, without their pets, ordered by id. The rows are read by a single query from a
+     * server-side cursor, <code>fetchSize</code> rows at a time as they are requested downstream.
+     *
+     * @param fetchSize the number of rows fetched from the cursor per round trip
+     * @return a <code>Flux</code> of all <code>Owner</code>s
+     */
+    Flux<Owner> exportAll(int fetchSize);
+
+    /**
+     * Update the non-<code>null</code> fields of <code>changes</code> on the <code>Owner</code> with the given id, with one
+     * <code>UPDATE ... RETURNING</code> statement and without reading the <code>Owner</code> first.
+     *
+     * @param id      the id of the <code>Owner</code> to update
+     * @param changes the new values; <code>null</code> fields are left unchanged
+     * @return the updated <code>Owner</code>, without its pets, if found
+     */
+    Mono<Owner> patch(int id, Owner changes);
+
+    /**
+     * Delete the <code>Owner</code> with the given id together with its pets and their visits, with one set-based
+     * <code>DELETE</code> statement per table instead of one per row.
+     *
+     * @param id the id of the <code>Owner</code> to delete
+     * @return whether the <code>Owner</code> existed
+     */
+    Mono<Boolean> deleteWithPets(int id);
+
 }
@@ -1,6 +1,11 @@
 package org.springframework.samples.petclinic.r2dbc;
 
+import org.jooq.Field;
+import org.jooq.Record1;
 import org.jooq.Records;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.samples.petclinic.model.Owner;
 import org.springframework.samples.petclinic.model.Pet;
 import org.springframework.samples.petclinic.model.PetType;
@@ -9,23 +14,46 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import static org.jooq.impl.DSL.coalesce;
+import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.jsonArray;
+import static org.jooq.impl.DSL.jsonArrayAgg;
+import static org.jooq.impl.DSL.jsonObject;
+import static org.jooq.impl.DSL.key;
+import static org.jooq.impl.DSL.lower;
 import static org.jooq.impl.DSL.multiset;
 import static org.jooq.impl.DSL.select;
+import static org.springframework.samples.petclinic.jooq.Tables.OWNERS;
 import static org.springframework.samples.petclinic.jooq.Tables.PETS;
 import static org.springframework.samples.petclinic.jooq.Tables.TYPES;
 import static org.springframework.samples.petclinic.jooq.Tables.VISITS;
+import static org.springframework.samples.petclinic.r2dbc.DSLAccess.affectsAnyRow;
+import static org.springframework.samples.petclinic.r2dbc.DSLAccess.putIfNotNull;
+import static org.springframework.samples.petclinic.r2dbc.DSLAccess.setClause;
 
 public class CustomOwnerRepositoryImpl implements CustomOwnerRepository {
 
     private final R2dbcOwnerRepository repository;
     private final DSLAccess dslAccess;
 
-    public CustomOwnerRepositoryImpl(R2dbcOwnerRepository repository, DSLAccess dslAccess) {
+    /**
+     * Maximum number of owners whose pets and visits are fetched by a single query.
+     */
+    @Value("${petclinic.owners.graph-batch-size:256}")
+    private int graphBatchSize;
+
+    private final IdBatchLoader<Owner> batchLoader;
+
+    public CustomOwnerRepositoryImpl(R2dbcOwnerRepository repository, DSLAccess dslAccess, IdBatchLoaders batchLoaders) {
         this.repository = repository;
         this.dslAccess = dslAccess;
+        this.batchLoader = batchLoaders.create("owners", this::findAllById, Owner::getId);
     }
 
     @Override
@@ -33,23 +61,126 @@ public class CustomOwnerRepositoryImpl implements CustomOwnerRepository {
         return loadPetsAndVisits(repository.findOwnersByLastNameStartsWith(lastName));
     }
 
+    @Override
+    public Flux<Owner> findPage(String lastName, int afterId, int limit) {
+        var pageable = PageRequest.of(0, limit, Sort.by("id"));
+        return loadPetsAndVisits(lastName != null
+            ? repository.findOwnersByLastNameStartsWithAndIdGreaterThan(lastName, afterId, pageable)
+            : repository.findOwnersByIdGreaterThan(afterId, pageable));
+    }
+
     @Override
     public Mono<Owner> findById(int id) {
-        return loadPetsAndVisits(repository.findById(id));
+        return batchLoader.load(id);
     }
 
-    private Flux<Owner> loadPetsAndVisits(Flux<Owner> owners) {
-        return owners.collectList()
-            .flatMapMany(list -> Flux.concat(list.stream().map(this::loadPetsAndVisits).collect(Collectors.toList())));
+    @Override
+    public Mono<String> findJsonById(int id) {
+        var visits = select(jsonArrayAgg(jsonObject(
+                key("date").value(VISITS.VISIT_DATE),
+                key("description").value(VISITS.DESCRIPTION),
+                key("id").value(VISITS.ID),
+                key("petId").value(VISITS.PET_ID)
+            )).orderBy(VISITS.VISIT_DATE.desc().nullsFirst()))
+            .from(VISITS)
+            .where(VISITS.PET_ID.eq(PETS.ID));
+        var pets = select(jsonArrayAgg(jsonObject(
+                key("name").value(PETS.NAME),
+                key("birthDate").value(PETS.BIRTH_DATE),
+                key("type").value(jsonObject(key("name").value(TYPES.NAME), key("id").value(TYPES.ID))),
+                key("id").value(PETS.ID),
+                key("ownerId").value(PETS.OWNER_ID),
+                key("visits").value(coalesce(field(visits), jsonArray()))
+            )).orderBy(lower(PETS.NAME).asc().nullsLast()))
+            .from(PETS.join(TYPES).on(PETS.TYPE_ID.eq(TYPES.ID)))
+            .where(PETS.OWNER_ID.eq(OWNERS.ID));
+        return dslAccess.withDSLContext(ctx -> Mono.from(
+                ctx.select(jsonObject(
+                        key("firstName").value(OWNERS.FIRST_NAME),
+                        key("lastName").value(OWNERS.LAST_NAME),
+                        key("address").value(OWNERS.ADDRESS),
+                        key("city").value(OWNERS.CITY),
+                        key("telephone").value(OWNERS.TELEPHONE),
+                        key("id").value(OWNERS.ID),
+                        key("pets").value(coalesce(field(pets), jsonArray()))
+                    ))
+                    .from(OWNERS)
+                    .where(OWNERS.ID.eq(id))
+            ))
+            .map(owner -> owner.value1().data());
     }
 
-    private Mono<Owner> loadPetsAndVisits(Mono<Owner> ownerMono) {
-        return ownerMono.flatMap(this::loadPetsAndVisits);
+    @Override
+    public Flux<Integer> insertAll(List<Owner> owners) {
+        return dslAccess.withDSLContextMany(ctx -> {
+            var insert = ctx.insertInto(OWNERS, OWNERS.FIRST_NAME, OWNERS.LAST_NAME, OWNERS.ADDRESS, OWNERS.CITY,
+                OWNERS.TELEPHONE);
+            for (Owner owner : owners) {
+                insert = insert.values(owner.getFirstName(), owner.getLastName(), owner.getAddress(), owner.getCity(),
+                    owner.getTelephone());
+            }
+            return Flux.from(insert.returningResult(OWNERS.ID)).map(Record1::value1);
+        });
+    }
+
+    @Override
+    public Flux<Owner> exportAll(int fetchSize) {
+        return dslAccess.withDSLContextMany(ctx -> Flux.from(
+                ctx.select(OWNERS.ID, OWNERS.FIRST_NAME, OWNERS.LAST_NAME, OWNERS.ADDRESS, OWNERS.CITY, OWNERS.TELEPHONE)
+                    .from(OWNERS)
+                    .orderBy(OWNERS.ID)
+                    .fetchSize(fetchSize)
+            )
+            .limitRate(fetchSize)
+            .map(Records.mapping(CustomOwnerRepositoryImpl::toOwner)));
     }
 
-    private Mono<Owner> loadPetsAndVisits(Owner owner) {
+    @Override
+    public Mono<Owner> patch(int id, Owner changes) {
+        Map<Field<?>, Object> values = new LinkedHashMap<>();
+        putIfNotNull(values, OWNERS.FIRST_NAME, changes.getFirstName());
+        putIfNotNull(values, OWNERS.LAST_NAME, changes.getLastName());
+        putIfNotNull(values, OWNERS.ADDRESS, changes.getAddress());
+        putIfNotNull(values, OWNERS.CITY, changes.getCity());
+        putIfNotNull(values, OWNERS.TELEPHONE, changes.getTelephone());
+        return dslAccess.withDSLContext(ctx -> Mono.from(
+                ctx.update(OWNERS)
+                    .set(setClause(values, OWNERS.ID, id))
+                    .where(OWNERS.ID.eq(id))
+                    .returningResult(OWNERS.ID, OWNERS.FIRST_NAME, OWNERS.LAST_NAME, OWNERS.ADDRESS, OWNERS.CITY,
+                        OWNERS.TELEPHONE)
+            )
+            .map(Records.mapping(CustomOwnerRepositoryImpl::toOwner)));
+    }
+
+    @Override
+    public Mono<Boolean> deleteWithPets(int id) {
+        return dslAccess.withDSLContext(ctx -> Mono.from(
+                ctx.deleteFrom(VISITS)
+                    .where(VISITS.PET_ID.in(select(PETS.ID).from(PETS).where(PETS.OWNER_ID.eq(id))))
+            )
+            .then(Mono.from(ctx.deleteFrom(PETS).where(PETS.OWNER_ID.eq(id))))
+            .then(affectsAnyRow(ctx.deleteFrom(OWNERS).where(OWNERS.ID.eq(id)))));
+    }
+
+    private Flux<Owner> findAllById(Collection<Integer> ids) {
+        return repository.findAllById(ids).collectList().flatMapMany(this::loadPetsAndVisits);
+    }
+
+    /**
+     * Owners are drained first: inside a transaction all statements share one connection, so the owners cursor has to
+     * be closed before the pets query runs. Each chunk of owners is then emitted as soon as its pets are loaded.
+     */
+    private Flux<Owner> loadPetsAndVisits(Flux<Owner> owners) {
+        return owners.collectList()
+            .flatMapMany(list -> Flux.fromIterable(list).buffer(graphBatchSize))
+            .concatMap(this::loadPetsAndVisits);
+    }
+
+    private Flux<Owner> loadPetsAndVisits(List<Owner> owners) {
+        List<Integer> ownerIds = owners.stream().map(Owner::getId).collect(Collectors.toList());
         return dslAccess.withDSLContext(ctx -> Flux.from(
-                ctx.select(PETS.ID, PETS.NAME, PETS.BIRTH_DATE, PETS.TYPE_ID, PETS.OWNER_ID, TYPES.ID, TYPES.NAME,
+                ctx.select(PETS.ID, PETS.NAME, PETS.BIRTH_DATE, PETS.OWNER_ID, TYPES.ID, TYPES.NAME,
                         multiset(
                             select(VISITS.ID, VISITS.PET_ID, VISITS.VISIT_DATE, VISITS.DESCRIPTION)
                                 .from(VISITS)
@@ -57,27 +188,49 @@ public class CustomOwnerRepositoryImpl implements CustomOwnerRepository {
                         ).as("visits").convertFrom(r -> r.map(Records.mapping(VisitRecord::new)))
                     )
                     .from(PETS.join(TYPES).on(PETS.TYPE_ID.eq(TYPES.ID)))
-                    .where(PETS.OWNER_ID.eq(owner.getId()))
+                    .where(PETS.OWNER_ID.in(ownerIds))
             )
             .map(Records.mapping(PetRecord::new))
+            .collect(Collectors.groupingBy(PetRecord::ownerId)))
+            .flatMapIterable(petsByOwner -> {
+                owners.forEach(owner -> owner.setPets(toPets(owner, petsByOwner)));
+                return owners;
+            });
+    }
+
+    private static List<Pet> toPets(Owner owner, Map<Integer, List<PetRecord>> petsByOwner) {
+        return petsByOwner.getOrDefault(owner.getId(), List.of()).stream()
             .map(record -> {
                 var pet = new Pet();
                 pet.setId(record.id);
                 pet.setOwner(owner);
                 pet.setOwnerId(owner.getId());
                 pet.setType(new PetType(record.typeId, record.typeName));
+                pet.setTypeId(record.typeId);
                 pet.setName(record.name);
                 pet.setBirthDate(record.birthDate);
                 pet.setVisits(record.visits.stream().map(v -> new Visit(v.id, v.petId, v.visitDate, v.description)).collect(Collectors.toList()));
                 return pet;
             })
-            .collectList().doOnNext(owner::setPets).thenReturn(owner));
+            .collect(Collectors.toList());
+    }
+
+    private static Owner toOwner(int id, String firstName, String lastName, String address, String city,
+                                 String telephone) {
+        var owner = new Owner();
+        owner.setId(id);
+        owner.setFirstName(firstName);
+        owner.setLastName(lastName);
+        owner.setAddress(address);
+        owner.setCity(city);
+        owner.setTelephone(telephone);
+        return owner;
     }
 
     record VisitRecord(int id, int petId, LocalDate visitDate, String description) {
     }
 
-    record PetRecord(int id, String name, LocalDate birthDate, int petId, int ownerId, int typeId, String typeName,
+    record PetRecord(int id, String name, LocalDate birthDate, int ownerId, int typeId, String typeName,
                      List<VisitRecord> visits) {
     }
 
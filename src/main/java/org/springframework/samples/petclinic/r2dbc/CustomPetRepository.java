@@ -16,8 +16,11 @@
 package org.springframework.samples.petclinic.r2dbc;
 
 import org.springframework.samples.petclinic.model.Pet;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * Repository class for <code>Pet</code> domain objects
  */
@@ -31,4 +34,32 @@ public interface CustomPetRepository {
      */
     Mono<Pet> findById(int id);
 
+    /**
+     * Insert <code>Pet</code>s with one multi-row <code>INSERT ... RETURNING</code> statement.
+     *
+     * @param pets the <code>Pet</code>s to insert; their ids are ignored
+     * @return the generated ids, in the order of <code>pets</code>
+     */
+    Flux<Integer> insertAll(List<Pet> pets);
+
+    /**
+     * Update the non-<code>null</code> fields of <code>changes</code> on the <code>Pet</code> with the given id, with one
+     * <code>UPDATE ... RETURNING</code> statement and without reading the <code>Pet</code> first.
+     *
+     * @param id      the id of the <code>Pet</code> to update
+     * @param changes the new values; <code>null</code> fields are left unchanged, and so is the type if
+     *                <code>changes.getType()</code> is <code>null</code>
+     * @return the updated <code>Pet</code> with its type, without its owner and visits, if found
+     */
+    Mono<Pet> patch(int id, Pet changes);
+
+    /**
+     * Delete the <code>Pet</code> with the given id together with its visits, with one <code>DELETE</code> statement per
+     * table.
+     *
+     * @param id the id of the <code>Pet</code> to delete
+     * @return whether the <code>Pet</code> existed
+     */
+    Mono<Boolean> deleteWithVisits(int id);
+
 }
@@ -1,24 +1,140 @@
 package org.springframework.samples.petclinic.r2dbc;
 
+import org.jooq.Field;
+import org.jooq.Record1;
+import org.jooq.Records;
+import org.springframework.samples.petclinic.model.Owner;
 import org.springframework.samples.petclinic.model.Pet;
-import org.springframework.samples.petclinic.util.EntityUtils;
+import org.springframework.samples.petclinic.model.PetType;
+import org.springframework.samples.petclinic.model.Visit;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.multiset;
+import static org.jooq.impl.DSL.select;
+import static org.springframework.samples.petclinic.jooq.Tables.OWNERS;
+import static org.springframework.samples.petclinic.jooq.Tables.PETS;
+import static org.springframework.samples.petclinic.jooq.Tables.TYPES;
+import static org.springframework.samples.petclinic.jooq.Tables.VISITS;
+import static org.springframework.samples.petclinic.r2dbc.DSLAccess.affectsAnyRow;
+import static org.springframework.samples.petclinic.r2dbc.DSLAccess.putIfNotNull;
+import static org.springframework.samples.petclinic.r2dbc.DSLAccess.setClause;
+
 public class CustomPetRepositoryImpl implements CustomPetRepository {
 
-    private final R2dbcPetRepository repository;
-    private final OwnerRepository ownerRepository;
+    private final DSLAccess dslAccess;
+
+    private final IdBatchLoader<Pet> batchLoader;
 
-    public CustomPetRepositoryImpl(R2dbcPetRepository repository, OwnerRepository ownerRepository) {
-        this.repository = repository;
-        this.ownerRepository = ownerRepository;
+    public CustomPetRepositoryImpl(DSLAccess dslAccess, IdBatchLoaders batchLoaders) {
+        this.dslAccess = dslAccess;
+        this.batchLoader = batchLoaders.create("pets", this::findAllById, Pet::getId);
     }
 
     @Override
     public Mono<Pet> findById(int id) {
-        return repository.findById(id)
-            .flatMap(pet -> ownerRepository.findById(pet.getOwnerId()))
-            .map(owner -> EntityUtils.getById(owner.getPets(), Pet.class, id));
+        return batchLoader.load(id);
+    }
+
+    @Override
+    public Flux<Integer> insertAll(List<Pet> pets) {
+        return dslAccess.withDSLContextMany(ctx -> {
+            var insert = ctx.insertInto(PETS, PETS.NAME, PETS.BIRTH_DATE, PETS.TYPE_ID, PETS.OWNER_ID);
+            for (Pet pet : pets) {
+                insert = insert.values(pet.getName(), pet.getBirthDate(), pet.getTypeId(), pet.getOwnerId());
+            }
+            return Flux.from(insert.returningResult(PETS.ID)).map(Record1::value1);
+        });
+    }
+
+    @Override
+    public Mono<Pet> patch(int id, Pet changes) {
+        Map<Field<?>, Object> values = new LinkedHashMap<>();
+        putIfNotNull(values, PETS.NAME, changes.getName());
+        putIfNotNull(values, PETS.BIRTH_DATE, changes.getBirthDate());
+        putIfNotNull(values, PETS.TYPE_ID, changes.getType() != null ? changes.getType().getId() : null);
+        return dslAccess.withDSLContext(ctx -> Mono.from(
+                ctx.update(PETS)
+                    .set(setClause(values, PETS.ID, id))
+                    .where(PETS.ID.eq(id))
+                    .returningResult(PETS.ID, PETS.NAME, PETS.BIRTH_DATE, PETS.TYPE_ID,
+                        field(select(TYPES.NAME).from(TYPES).where(TYPES.ID.eq(PETS.TYPE_ID))), PETS.OWNER_ID)
+            )
+            .map(Records.mapping((petId, name, birthDate, typeId, typeName, ownerId) -> {
+                var pet = new Pet();
+                pet.setId(petId);
+                pet.setName(name);
+                pet.setBirthDate(birthDate);
+                pet.setType(new PetType(typeId, typeName));
+                pet.setTypeId(typeId);
+                pet.setOwnerId(ownerId);
+                return pet;
+            })));
+    }
+
+    @Override
+    public Mono<Boolean> deleteWithVisits(int id) {
+        return dslAccess.withDSLContext(ctx -> Mono.from(ctx.deleteFrom(VISITS).where(VISITS.PET_ID.eq(id)))
+            .then(affectsAnyRow(ctx.deleteFrom(PETS).where(PETS.ID.eq(id)))));
+    }
+
+    /**
+     * Loads the pets with their type, their visits and their owner (without the owner's other pets) in one statement.
+     */
+    private Flux<Pet> findAllById(Collection<Integer> ids) {
+        return dslAccess.withDSLContextMany(ctx -> Flux.from(
+                ctx.select(PETS.ID, PETS.NAME, PETS.BIRTH_DATE, TYPES.ID, TYPES.NAME,
+                        OWNERS.ID, OWNERS.FIRST_NAME, OWNERS.LAST_NAME, OWNERS.ADDRESS, OWNERS.CITY, OWNERS.TELEPHONE,
+                        multiset(
+                            select(VISITS.ID, VISITS.PET_ID, VISITS.VISIT_DATE, VISITS.DESCRIPTION)
+                                .from(VISITS)
+                                .where(VISITS.PET_ID.eq(PETS.ID))
+                        ).as("visits").convertFrom(r -> r.map(Records.mapping(VisitRecord::new)))
+                    )
+                    .from(PETS)
+                    .join(TYPES).on(PETS.TYPE_ID.eq(TYPES.ID))
+                    .join(OWNERS).on(PETS.OWNER_ID.eq(OWNERS.ID))
+                    .where(PETS.ID.in(ids))
+            )
+            .map(Records.mapping(PetRecord::new))
+            .map(CustomPetRepositoryImpl::toPet));
+    }
+
+    private static Pet toPet(PetRecord record) {
+        var owner = new Owner();
+        owner.setId(record.ownerId);
+        owner.setFirstName(record.firstName);
+        owner.setLastName(record.lastName);
+        owner.setAddress(record.address);
+        owner.setCity(record.city);
+        owner.setTelephone(record.telephone);
+
+        var pet = new Pet();
+        pet.setId(record.id);
+        pet.setName(record.name);
+        pet.setBirthDate(record.birthDate);
+        pet.setType(new PetType(record.typeId, record.typeName));
+        pet.setTypeId(record.typeId);
+        pet.setOwner(owner);
+        pet.setOwnerId(record.ownerId);
+        pet.setVisits(record.visits.stream().map(v -> new Visit(v.id, v.petId, v.visitDate, v.description)).collect(Collectors.toList()));
+        return pet;
+    }
+
+    record VisitRecord(int id, int petId, LocalDate visitDate, String description) {
+    }
+
+    record PetRecord(int id, String name, LocalDate birthDate, int typeId, String typeName,
+                     int ownerId, String firstName, String lastName, String address, String city, String telephone,
+                     List<VisitRecord> visits) {
     }
 
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.r2dbc;
+
+import org.springframework.samples.petclinic.model.PetType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repository class for <code>PetType</code> domain objects. Reads are served from an in-memory snapshot of the
+ * <code>types</code> table which is replaced on every write.
+ */
+public interface CustomPetTypeRepository {
+
+    /**
+     * Retrieve all <code>PetType</code>s from the snapshot, sorted by name.
+     *
+     * @return a <code>Flux</code> of <code>PetType</code>s
+     */
+    Flux<PetType> findAll();
+
+    /**
+     * Retrieve a <code>PetType</code> from the snapshot by id.
+     *
+     * @param id the id to search for
+     * @return the <code>PetType</code> if found
+     */
+    Mono<PetType> findById(int id);
+
+    /**
+     * Save a <code>PetType</code> to the data store, either inserting or updating it, and publish it to the snapshot.
+     *
+     * @param petType the <code>PetType</code> to save
+     * @return the saved <code>PetType</code>
+     */
+    <S extends PetType> Mono<S> save(S petType);
+
+    /**
+     * Delete a <code>PetType</code> from the data store and from the snapshot.
+     *
+     * @param petType the <code>PetType</code> to delete
+     */
+    Mono<Void> delete(PetType petType);
+
+    /**
+     * Delete the <code>PetType</code> with the given id together with the pets of that type and their visits, with one
+     * set-based <code>DELETE</code> statement per table, and remove it from the snapshot.
+     *
+     * @param id the id of the <code>PetType</code> to delete
+     * @return whether the <code>PetType</code> existed
+     */
+    Mono<Boolean> deleteWithPets(int id);
+
+}
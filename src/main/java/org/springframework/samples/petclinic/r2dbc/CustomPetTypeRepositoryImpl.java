@@ -0,0 +1,145 @@
+package org.springframework.samples.petclinic.r2dbc;
+
+import org.springframework.samples.petclinic.model.PetType;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import static org.jooq.impl.DSL.select;
+import static org.springframework.samples.petclinic.jooq.Tables.PETS;
+import static org.springframework.samples.petclinic.jooq.Tables.TYPES;
+import static org.springframework.samples.petclinic.jooq.Tables.VISITS;
+import static org.springframework.samples.petclinic.r2dbc.DSLAccess.affectsAnyRow;
+
+public class CustomPetTypeRepositoryImpl implements CustomPetTypeRepository {
+
+    private static final Comparator<PetType> BY_NAME =
+        Comparator.comparing(PetType::getName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final R2dbcPetTypeRepository repository;
+
+    private final DSLAccess dslAccess;
+
+    /**
+     * Immutable copy of the <code>types</code> table, replaced as a whole on every write so that a load which raced
+     * with a write cannot install stale rows over it.
+     */
+    private final AtomicReference<State> state = new AtomicReference<>(new State(0, null));
+
+    public CustomPetTypeRepositoryImpl(R2dbcPetTypeRepository repository, DSLAccess dslAccess) {
+        this.repository = repository;
+        this.dslAccess = dslAccess;
+    }
+
+    @Override
+    public Flux<PetType> findAll() {
+        return snapshot().flatMapIterable(Snapshot::byName).map(CustomPetTypeRepositoryImpl::copy);
+    }
+
+    @Override
+    public Mono<PetType> findById(int id) {
+        return snapshot().mapNotNull(s -> s.byId().get(id)).map(CustomPetTypeRepositoryImpl::copy);
+    }
+
+    @Override
+    public <S extends PetType> Mono<S> save(S petType) {
+        return repository.save(petType)
+            .flatMap(saved -> publish(s -> s.with(copy(saved))).thenReturn(saved));
+    }
+
+    @Override
+    public Mono<Void> delete(PetType petType) {
+        return repository.delete(petType)
+            .then(Mono.defer(() -> publish(s -> s.without(petType.getId()))));
+    }
+
+    @Override
+    public Mono<Boolean> deleteWithPets(int id) {
+        return dslAccess.withDSLContext(ctx -> Mono.from(
+                    ctx.deleteFrom(VISITS)
+                        .where(VISITS.PET_ID.in(select(PETS.ID).from(PETS).where(PETS.TYPE_ID.eq(id))))
+                )
+                .then(Mono.from(ctx.deleteFrom(PETS).where(PETS.TYPE_ID.eq(id))))
+                .then(affectsAnyRow(ctx.deleteFrom(TYPES).where(TYPES.ID.eq(id)))))
+            .flatMap(deleted -> publish(s -> s.without(id)).thenReturn(deleted));
+    }
+
+    private Mono<Snapshot> snapshot() {
+        return Mono.defer(() -> {
+            State current = state.get();
+            return current.snapshot() != null ? Mono.just(current.snapshot()) : load(current);
+        });
+    }
+
+    private Mono<Snapshot> load(State observed) {
+        return repository.findAll().collectList().map(Snapshot::of)
+            .doOnNext(loaded -> state.compareAndSet(observed, new State(observed.generation(), loaded)));
+    }
+
+    /**
+     * Applies a write to the snapshot, and again once the surrounding transaction commits: a load that started in
+     * between read the rows as they were before the write became visible. If the transaction does not commit, the
+     * snapshot is dropped and reloaded on the next read.
+     */
+    private Mono<Void> publish(UnaryOperator<Snapshot> change) {
+        state.updateAndGet(s -> s.apply(change));
+        return TransactionSynchronizationManager.forCurrentTransaction()
+            .filter(TransactionSynchronizationManager::isSynchronizationActive)
+            .doOnNext(tsm -> tsm.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public Mono<Void> afterCompletion(int status) {
+                    state.updateAndGet(s -> status == STATUS_COMMITTED ? s.apply(change) : s.apply(dropped -> null));
+                    return Mono.empty();
+                }
+            }))
+            .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+            .then();
+    }
+
+    private static PetType copy(PetType petType) {
+        return new PetType(petType.getId(), petType.getName());
+    }
+
+    /**
+     * The snapshot, or <code>null</code> until the first read loads it, and the number of writes applied so far. Every
+     * write installs a new <code>State</code>, so a load only installs its rows if no write happened since it started.
+     */
+    record State(long generation, Snapshot snapshot) {
+
+        State apply(UnaryOperator<Snapshot> change) {
+            return new State(generation + 1, snapshot == null ? null : change.apply(snapshot));
+        }
+    }
+
+    record Snapshot(Map<Integer, PetType> byId, List<PetType> byName) {
+
+        static Snapshot of(Collection<PetType> petTypes) {
+            Map<Integer, PetType> byId = new HashMap<>();
+            petTypes.forEach(petType -> byId.put(petType.getId(), copy(petType)));
+            return new Snapshot(Map.copyOf(byId), byId.values().stream().sorted(BY_NAME).toList());
+        }
+
+        Snapshot with(PetType petType) {
+            Map<Integer, PetType> copy = new HashMap<>(byId);
+            copy.put(petType.getId(), petType);
+            return of(copy.values());
+        }
+
+        Snapshot without(Integer id) {
+            Map<Integer, PetType> copy = new HashMap<>(byId);
+            copy.remove(id);
+            return of(copy.values());
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.r2dbc;
+
+import org.springframework.samples.petclinic.model.Specialty;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repository class for <code>Specialty</code> domain objects
+ */
+public interface CustomSpecialtyRepository {
+
+    /**
+     * Delete a <code>Specialty</code> from the data store and from every vet it is assigned to.
+     *
+     * @param specialty the <code>Specialty</code> to delete
+     */
+    Mono<Void> delete(Specialty specialty);
+
+}
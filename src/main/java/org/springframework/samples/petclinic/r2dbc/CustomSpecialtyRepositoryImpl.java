@@ -0,0 +1,25 @@
+package org.springframework.samples.petclinic.r2dbc;
+
+import org.springframework.samples.petclinic.model.Specialty;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.samples.petclinic.jooq.Tables.SPECIALTIES;
+import static org.springframework.samples.petclinic.jooq.Tables.VET_SPECIALTIES;
+
+public class CustomSpecialtyRepositoryImpl implements CustomSpecialtyRepository {
+
+    private final DSLAccess dslAccess;
+
+    public CustomSpecialtyRepositoryImpl(DSLAccess dslAccess) {
+        this.dslAccess = dslAccess;
+    }
+
+    @Override
+    public Mono<Void> delete(Specialty specialty) {
+        return dslAccess.withDSLContext(ctx -> Mono.from(
+                ctx.deleteFrom(VET_SPECIALTIES).where(VET_SPECIALTIES.SPECIALTY_ID.eq(specialty.getId())))
+            .then(Mono.from(ctx.deleteFrom(SPECIALTIES).where(SPECIALTIES.ID.eq(specialty.getId())))))
+            .then();
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.r2dbc;
+
+import org.springframework.samples.petclinic.model.Vet;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repository class for <code>Vet</code> domain objects. Vets are always read together with their specialties.
+ */
+public interface CustomVetRepository {
+
+    /**
+     * Retrieve all <code>Vet</code>s with their specialties, sorted by last and first name.
+     *
+     * @return a <code>Flux</code> of <code>Vet</code>s
+     */
+    Flux<Vet> findAll();
+
+    /**
+     * Retrieve a <code>Vet</code> with its specialties by id.
+     *
+     * @param id the id to search for
+     * @return the <code>Vet</code> if found
+     */
+    Mono<Vet> findById(int id);
+
+    /**
+     * Save a <code>Vet</code> to the data store, either inserting or updating it, and replace its specialties.
+     *
+     * @param vet the <code>Vet</code> to save
+     * @return the saved <code>Vet</code>
+     */
+    <S extends Vet> Mono<S> save(S vet);
+
+    /**
+     * Delete a <code>Vet</code> and its specialty assignments from the data store.
+     *
+     * @param vet the <code>Vet</code> to delete
+     */
+    Mono<Void> delete(Vet vet);
+
+}
@@ -0,0 +1,99 @@
+package org.springframework.samples.petclinic.r2dbc;
+
+import org.jooq.DSLContext;
+import org.jooq.Record4;
+import org.jooq.Records;
+import org.jooq.SelectJoinStep;
+import org.springframework.samples.petclinic.model.Specialty;
+import org.springframework.samples.petclinic.model.Vet;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.jooq.impl.DSL.multiset;
+import static org.jooq.impl.DSL.select;
+import static org.springframework.samples.petclinic.jooq.Tables.SPECIALTIES;
+import static org.springframework.samples.petclinic.jooq.Tables.VETS;
+import static org.springframework.samples.petclinic.jooq.Tables.VET_SPECIALTIES;
+
+public class CustomVetRepositoryImpl implements CustomVetRepository {
+
+    private final R2dbcVetRepository repository;
+    private final DSLAccess dslAccess;
+
+    public CustomVetRepositoryImpl(R2dbcVetRepository repository, DSLAccess dslAccess) {
+        this.repository = repository;
+        this.dslAccess = dslAccess;
+    }
+
+    @Override
+    public Flux<Vet> findAll() {
+        return dslAccess.withDSLContextMany(ctx -> Flux.from(selectVets(ctx).orderBy(VETS.LAST_NAME, VETS.FIRST_NAME)))
+            .map(Records.mapping(CustomVetRepositoryImpl::toVet));
+    }
+
+    @Override
+    public Mono<Vet> findById(int id) {
+        return dslAccess.withDSLContext(ctx -> Mono.from(selectVets(ctx).where(VETS.ID.eq(id))))
+            .map(Records.mapping(CustomVetRepositoryImpl::toVet));
+    }
+
+    @Override
+    public <S extends Vet> Mono<S> save(S vet) {
+        return repository.save(vet).flatMap(saved -> dslAccess.withDSLContext(ctx -> Mono.from(
+                    ctx.deleteFrom(VET_SPECIALTIES).where(VET_SPECIALTIES.VET_ID.eq(saved.getId())))
+                .then(insertSpecialties(ctx, saved)))
+            .thenReturn(saved));
+    }
+
+    @Override
+    public Mono<Void> delete(Vet vet) {
+        return dslAccess.withDSLContext(ctx -> Mono.from(
+                ctx.deleteFrom(VET_SPECIALTIES).where(VET_SPECIALTIES.VET_ID.eq(vet.getId())))
+            .then(Mono.from(ctx.deleteFrom(VETS).where(VETS.ID.eq(vet.getId())))))
+            .then();
+    }
+
+    /**
+     * One row per vet; its specialties are nested into the same row, so no query runs per vet.
+     */
+    private static SelectJoinStep<Record4<Integer, String, String, List<SpecialtyRecord>>> selectVets(DSLContext ctx) {
+        return ctx.select(VETS.ID, VETS.FIRST_NAME, VETS.LAST_NAME,
+                multiset(
+                    select(SPECIALTIES.ID, SPECIALTIES.NAME)
+                        .from(SPECIALTIES.join(VET_SPECIALTIES).on(VET_SPECIALTIES.SPECIALTY_ID.eq(SPECIALTIES.ID)))
+                        .where(VET_SPECIALTIES.VET_ID.eq(VETS.ID))
+                ).as("specialties").convertFrom(r -> r.map(Records.mapping(SpecialtyRecord::new))))
+            .from(VETS);
+    }
+
+    private static Mono<Void> insertSpecialties(DSLContext ctx, Vet vet) {
+        if (vet.getNrOfSpecialties() == 0) {
+            return Mono.empty();
+        }
+        var insert = ctx.insertInto(VET_SPECIALTIES, VET_SPECIALTIES.VET_ID, VET_SPECIALTIES.SPECIALTY_ID);
+        for (Specialty specialty : vet.getSpecialties()) {
+            insert = insert.values(vet.getId(), specialty.getId());
+        }
+        return Mono.from(insert).then();
+    }
+
+    private static Vet toVet(int id, String firstName, String lastName, List<SpecialtyRecord> specialties) {
+        var vet = new Vet();
+        vet.setId(id);
+        vet.setFirstName(firstName);
+        vet.setLastName(lastName);
+        specialties.forEach(record -> {
+            var specialty = new Specialty();
+            specialty.setId(record.id);
+            specialty.setName(record.name);
+            vet.addSpecialty(specialty);
+        });
+        return vet;
+    }
+
+    record SpecialtyRecord(int id, String name) {
+    }
+
+}
@@ -16,8 +16,11 @@
 package org.springframework.samples.petclinic.r2dbc;
 
 import org.springframework.samples.petclinic.model.Visit;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * Repository class for <code>Visit</code> domain objects
  */
@@ -25,4 +28,40 @@ public interface CustomVisitRepository {
 
     Mono<Visit> findById(int id);
 
+    /**
+     * Insert <code>Visit</code>s with one multi-row <code>INSERT ... RETURNING</code> statement.
+     *
+     * @param visits the <code>Visit</code>s to insert; their ids are ignored
+     * @return the generated ids, in the order of <code>visits</code>
+     */
+    Flux<Integer> insertAll(List<Visit> visits);
+
+    /**
+     * Retrieve all <code>Visit</code>s, without their pets, ordered by id. The rows are read by a single query from a
+     * server-side cursor, <code>fetchSize</code> rows at a time as they are requested downstream.
+     *
+     * @param fetchSize the number of rows fetched from the cursor per round trip
+     * @return a <code>Flux</code> of all <code>Visit</code>s
+     */
+    Flux<Visit> exportAll(int fetchSize);
+
+    /**
+     * Update the non-<code>null</code> fields of <code>changes</code> on the <code>Visit</code> with the given id, with one
+     * <code>UPDATE ... RETURNING</code> statement and without reading the <code>Visit</code> first.
+     *
+     * @param id      the id of the <code>Visit</code> to update
+     * @param changes the new values; <code>null</code> fields are left unchanged
+     * @return the updated <code>Visit</code>, without its pet, if found
+     */
+    Mono<Visit> patch(int id, Visit changes);
+
+    /**
+     * Delete the <code>Visit</code> with the given id, with one <code>DELETE ... RETURNING</code> statement and without
+     * reading the <code>Visit</code> first.
+     *
+     * @param id the id of the <code>Visit</code> to delete
+     * @return the id of the deleted <code>Visit</code>'s pet, or empty if not found
+     */
+    Mono<Integer> deleteReturningPetId(int id);
+
 }
@@ -1,30 +1,131 @@
 package org.springframework.samples.petclinic.r2dbc;
 
+import org.jooq.Field;
+import org.jooq.Record1;
+import org.jooq.Records;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.Pet;
 import org.springframework.samples.petclinic.model.Visit;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.samples.petclinic.jooq.Tables.OWNERS;
+import static org.springframework.samples.petclinic.jooq.Tables.PETS;
+import static org.springframework.samples.petclinic.jooq.Tables.VISITS;
+import static org.springframework.samples.petclinic.r2dbc.DSLAccess.putIfNotNull;
+import static org.springframework.samples.petclinic.r2dbc.DSLAccess.setClause;
+
 public class CustomVisitRepositoryImpl implements CustomVisitRepository {
 
-    private final R2dbcOwnerRepository ownerRepository;
-    private final R2dbcPetRepository petRepository;
-    private final R2dbcVisitRepository visitRepository;
+    private final DSLAccess dslAccess;
+
+    private final IdBatchLoader<Visit> batchLoader;
 
-    public CustomVisitRepositoryImpl(R2dbcOwnerRepository ownerRepository, R2dbcPetRepository petRepository, R2dbcVisitRepository visitRepository) {
-        this.ownerRepository = ownerRepository;
-        this.petRepository = petRepository;
-        this.visitRepository = visitRepository;
+    public CustomVisitRepositoryImpl(DSLAccess dslAccess, IdBatchLoaders batchLoaders) {
+        this.dslAccess = dslAccess;
+        this.batchLoader = batchLoaders.create("visits", this::findAllById, Visit::getId);
     }
 
     @Override
     public Mono<Visit> findById(int id) {
-        return visitRepository.findById(id)
-            .zipWhen(visit -> petRepository.findById(visit.getPetId()))
-            .zipWhen(tuple -> ownerRepository.findById(tuple.getT2().getOwnerId())).map(tuple -> {
-                Visit visit = tuple.getT1().getT1();
-                visit.setPet(tuple.getT1().getT2());
-                visit.getPet().setOwner(tuple.getT2());
-                return visit;
-            });
+        return batchLoader.load(id);
+    }
+
+    @Override
+    public Flux<Integer> insertAll(List<Visit> visits) {
+        return dslAccess.withDSLContextMany(ctx -> {
+            var insert = ctx.insertInto(VISITS, VISITS.PET_ID, VISITS.VISIT_DATE, VISITS.DESCRIPTION);
+            for (Visit visit : visits) {
+                insert = insert.values(visit.getPetId(), visit.getDate(), visit.getDescription());
+            }
+            return Flux.from(insert.returningResult(VISITS.ID)).map(Record1::value1);
+        });
+    }
+
+    @Override
+    public Flux<Visit> exportAll(int fetchSize) {
+        return dslAccess.withDSLContextMany(ctx -> Flux.from(
+                ctx.select(VISITS.ID, VISITS.PET_ID, VISITS.VISIT_DATE, VISITS.DESCRIPTION)
+                    .from(VISITS)
+                    .orderBy(VISITS.ID)
+                    .fetchSize(fetchSize)
+            )
+            .limitRate(fetchSize)
+            .map(Records.mapping(Visit::new)));
+    }
+
+    @Override
+    public Mono<Visit> patch(int id, Visit changes) {
+        Map<Field<?>, Object> values = new LinkedHashMap<>();
+        putIfNotNull(values, VISITS.VISIT_DATE, changes.getDate());
+        putIfNotNull(values, VISITS.DESCRIPTION, changes.getDescription());
+        return dslAccess.withDSLContext(ctx -> Mono.from(
+                ctx.update(VISITS)
+                    .set(setClause(values, VISITS.ID, id))
+                    .where(VISITS.ID.eq(id))
+                    .returningResult(VISITS.ID, VISITS.PET_ID, VISITS.VISIT_DATE, VISITS.DESCRIPTION)
+            )
+            .map(Records.mapping(Visit::new)));
+    }
+
+    @Override
+    public Mono<Integer> deleteReturningPetId(int id) {
+        return dslAccess.withDSLContext(ctx -> Mono.from(
+                ctx.deleteFrom(VISITS)
+                    .where(VISITS.ID.eq(id))
+                    .returningResult(VISITS.PET_ID)
+            )
+            .map(Record1::value1));
+    }
+
+    /**
+     * Loads the visits together with their pet and the pet's owner in one statement.
+     */
+    private Flux<Visit> findAllById(Collection<Integer> ids) {
+        return dslAccess.withDSLContextMany(ctx -> Flux.from(
+                ctx.select(VISITS.ID, VISITS.VISIT_DATE, VISITS.DESCRIPTION,
+                        PETS.ID, PETS.NAME, PETS.BIRTH_DATE, PETS.TYPE_ID,
+                        OWNERS.ID, OWNERS.FIRST_NAME, OWNERS.LAST_NAME, OWNERS.ADDRESS, OWNERS.CITY, OWNERS.TELEPHONE)
+                    .from(VISITS)
+                    .join(PETS).on(VISITS.PET_ID.eq(PETS.ID))
+                    .join(OWNERS).on(PETS.OWNER_ID.eq(OWNERS.ID))
+                    .where(VISITS.ID.in(ids))
+            )
+            .map(Records.mapping(VisitRecord::new))
+            .map(CustomVisitRepositoryImpl::toVisit));
+    }
+
+    private static Visit toVisit(VisitRecord record) {
+        var owner = new Owner();
+        owner.setId(record.ownerId);
+        owner.setFirstName(record.firstName);
+        owner.setLastName(record.lastName);
+        owner.setAddress(record.address);
+        owner.setCity(record.city);
+        owner.setTelephone(record.telephone);
+
+        var pet = new Pet();
+        pet.setId(record.petId);
+        pet.setName(record.petName);
+        pet.setBirthDate(record.birthDate);
+        pet.setTypeId(record.typeId);
+        pet.setOwner(owner);
+        pet.setOwnerId(record.ownerId);
+
+        var visit = new Visit(record.id, record.petId, record.visitDate, record.description);
+        visit.setPet(pet);
+        return visit;
+    }
+
+    record VisitRecord(int id, LocalDate visitDate, String description,
+                       int petId, String petName, LocalDate birthDate, int typeId,
+                       int ownerId, String firstName, String lastName, String address, String city, String telephone) {
     }
 
 }
@@ -2,6 +2,8 @@ package org.springframework.samples.petclinic.r2dbc;
 
 import io.r2dbc.spi.Connection;
 import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.RowCountQuery;
 import org.jooq.SQLDialect;
 import org.jooq.conf.RenderQuotedNames;
 import org.jooq.conf.Settings;
@@ -43,4 +45,31 @@ public class DSLAccess {
     public <T> Flux<T> withDSLContextMany(Function<DSLContext, Flux<T>> action) {
         return databaseClient.inConnectionMany(connection -> action.apply(dsl(connection)));
     }
+
+    /**
+     * Adds <code>field = value</code> to the <code>SET</code> clause of a partial update, unless the value is
+     * <code>null</code>.
+     */
+    static <T> void putIfNotNull(Map<Field<?>, Object> changes, Field<T> field, T value) {
+        if (value != null) {
+            changes.put(field, value);
+        }
+    }
+
+    /**
+     * <code>SET</code> clause of a partial update: the changes, or <code>id = id</code> if there are none, so that
+     * the statement still returns the row (or nothing if it does not exist).
+     */
+    static Map<Field<?>, Object> setClause(Map<Field<?>, Object> changes, Field<Integer> id, int idValue) {
+        return changes.isEmpty() ? Map.of(id, idValue) : changes;
+    }
+
+    /**
+     * Whether a <code>DELETE</code> or <code>UPDATE</code> affected any row. The count is read as a
+     * <code>Number</code>: R2DBC drivers report it as a <code>Long</code>, although jOOQ declares it as an
+     * <code>Integer</code>.
+     */
+    static Mono<Boolean> affectsAnyRow(RowCountQuery query) {
+        return Mono.from(query).cast(Number.class).map(count -> count.longValue() > 0);
+    }
 }
@@ -0,0 +1,157 @@
+package org.springframework.samples.petclinic.r2dbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Collects lookups by id from concurrent callers for up to <code>window</code>, or until <code>maxBatchSize</code>
+ * distinct ids are waiting, and resolves them with a single query for all of them. Lookups made inside a transaction
+ * are not batched, since they must see that transaction's own writes.
+ * <p>
+ * Callers asking for the same id within one batch receive the same instance.
+ */
+public class IdBatchLoader<V> {
+
+    private final Function<Collection<Integer>, Flux<V>> loader;
+
+    private final ToIntFunction<V> idOf;
+
+    private final Duration window;
+
+    private final int maxBatchSize;
+
+    private final DistributionSummary batchSize;
+
+    private final Timer batchWait;
+
+    /**
+     * The batch still accepting ids, or <code>null</code>. Guarded by <code>this</code>.
+     */
+    private Batch<V> pending;
+
+    IdBatchLoader(Function<Collection<Integer>, Flux<V>> loader, ToIntFunction<V> idOf, Duration window,
+                  int maxBatchSize, DistributionSummary batchSize, Timer batchWait) {
+        this.loader = loader;
+        this.idOf = idOf;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = batchSize;
+        this.batchWait = batchWait;
+    }
+
+    public Mono<V> load(int id) {
+        if (window.isZero() || maxBatchSize <= 1) {
+            return loadNow(id);
+        }
+        return TransactionSynchronizationManager.forCurrentTransaction()
+            .map(TransactionSynchronizationManager::isActualTransactionActive)
+            .onErrorResume(NoTransactionException.class, e -> Mono.just(false))
+            .flatMap(inTransaction -> inTransaction ? loadNow(id) : enqueue(id));
+    }
+
+    private Mono<V> loadNow(int id) {
+        return loader.apply(List.of(id)).next();
+    }
+
+    private Mono<V> enqueue(int id) {
+        return Mono.create(sink -> {
+            Waiter<V> waiter = new Waiter<>(sink, System.nanoTime());
+            Batch<V> joined;
+            Batch<V> full = null;
+            synchronized (this) {
+                if (pending == null) {
+                    Batch<V> batch = new Batch<>();
+                    batch.timer = Schedulers.parallel().schedule(() -> flush(batch), window.toNanos(), TimeUnit.NANOSECONDS);
+                    pending = batch;
+                }
+                joined = pending;
+                joined.waiting.computeIfAbsent(id, key -> new ArrayList<>()).add(waiter);
+                if (joined.waiting.size() >= maxBatchSize) {
+                    full = joined;
+                    pending = null;
+                    full.timer.dispose();
+                }
+            }
+            sink.onCancel(() -> cancel(joined, id, waiter));
+            if (full != null) {
+                dispatch(full);
+            }
+        });
+    }
+
+    /**
+     * Removes a cancelled lookup from its batch, unless the batch has already been dispatched, and drops the id once
+     * nobody waits for it, so that it neither counts towards <code>maxBatchSize</code> nor is queried.
+     */
+    private void cancel(Batch<V> batch, int id, Waiter<V> waiter) {
+        synchronized (this) {
+            if (pending != batch) {
+                return;
+            }
+            List<Waiter<V>> waiters = batch.waiting.get(id);
+            waiters.remove(waiter);
+            if (waiters.isEmpty()) {
+                batch.waiting.remove(id);
+            }
+            if (batch.waiting.isEmpty()) {
+                pending = null;
+                batch.timer.dispose();
+            }
+        }
+    }
+
+    private void flush(Batch<V> batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                return;
+            }
+            pending = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch<V> batch) {
+        long dispatchedAt = System.nanoTime();
+        batchSize.record(batch.waiting.size());
+        batch.waiting.values().forEach(waiters -> waiters.forEach(
+            waiter -> batchWait.record(dispatchedAt - waiter.enqueuedAt(), TimeUnit.NANOSECONDS)));
+        loader.apply(List.copyOf(batch.waiting.keySet()))
+            .collectMap(idOf::applyAsInt)
+            .subscribe(found -> batch.waiting.forEach((id, waiters) -> {
+                V value = found.get(id);
+                waiters.forEach(waiter -> {
+                    if (value != null) {
+                        waiter.sink().success(value);
+                    } else {
+                        waiter.sink().success();
+                    }
+                });
+            }), error -> batch.waiting.values().forEach(waiters -> waiters.forEach(waiter -> waiter.sink().error(error))));
+    }
+
+    private static final class Batch<V> {
+        private final Map<Integer, List<Waiter<V>>> waiting = new HashMap<>();
+        private Disposable timer;
+    }
+
+    private record Waiter<V>(MonoSink<V> sink, long enqueuedAt) {
+    }
+
+}
@@ -0,0 +1,49 @@
+package org.springframework.samples.petclinic.r2dbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Creates the {@link IdBatchLoader}s used by the repositories' <code>findById</code> and registers their batch size
+ * and wait time meters, tagged with the repository name.
+ */
+@Component
+public class IdBatchLoaders {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration window;
+
+    private final int maxBatchSize;
+
+    public IdBatchLoaders(MeterRegistry meterRegistry,
+                          @Value("${petclinic.repository.batch.window:1ms}") Duration window,
+                          @Value("${petclinic.repository.batch.max-size:128}") int maxBatchSize) {
+        this.meterRegistry = meterRegistry;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public <V> IdBatchLoader<V> create(String repository, Function<Collection<Integer>, Flux<V>> loader,
+                                       ToIntFunction<V> idOf) {
+        return new IdBatchLoader<>(loader, idOf, window, maxBatchSize,
+            DistributionSummary.builder("petclinic.repository.batch.size")
+                .description("Number of distinct ids resolved by one batched findById query")
+                .tag("repository", repository)
+                .register(meterRegistry),
+            Timer.builder("petclinic.repository.batch.wait")
+                .description("Time a findById call waited for its batch to be dispatched")
+                .tag("repository", repository)
+                .register(meterRegistry));
+    }
+
+}
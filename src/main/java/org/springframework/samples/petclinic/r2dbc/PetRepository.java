@@ -1,7 +1,10 @@
 package org.springframework.samples.petclinic.r2dbc;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.samples.petclinic.model.Pet;
+import reactor.core.publisher.Flux;
 
 public interface PetRepository extends R2dbcRepository<Pet, Integer>, CustomPetRepository {
+    Flux<Pet> findPetsByIdGreaterThan(int id, Pageable pageable);
 }
@@ -0,0 +1,14 @@
+package org.springframework.samples.petclinic.r2dbc;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.samples.petclinic.model.PetType;
+import reactor.core.publisher.Mono;
+
+public interface PetTypeRepository extends R2dbcRepository<PetType, Integer>, CustomPetTypeRepository {
+
+    @Override
+    <S extends PetType> Mono<S> save(S petType);
+
+    @Override
+    Mono<Void> delete(PetType petType);
+}
@@ -0,0 +1,7 @@
+package org.springframework.samples.petclinic.r2dbc;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.samples.petclinic.model.PetType;
+
+public interface R2dbcPetTypeRepository extends R2dbcRepository<PetType, Integer> {
+}
@@ -0,0 +1,7 @@
+package org.springframework.samples.petclinic.r2dbc;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.samples.petclinic.model.Vet;
+
+public interface R2dbcVetRepository extends R2dbcRepository<Vet, Integer> {
+}
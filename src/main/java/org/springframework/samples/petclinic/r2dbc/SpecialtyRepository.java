@@ -0,0 +1,11 @@
+package org.springframework.samples.petclinic.r2dbc;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.samples.petclinic.model.Specialty;
+import reactor.core.publisher.Mono;
+
+public interface SpecialtyRepository extends R2dbcRepository<Specialty, Integer>, CustomSpecialtyRepository {
+
+    @Override
+    Mono<Void> delete(Specialty specialty);
+}
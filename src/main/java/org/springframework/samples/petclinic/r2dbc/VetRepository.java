@@ -0,0 +1,18 @@
+package org.springframework.samples.petclinic.r2dbc;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.samples.petclinic.model.Vet;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface VetRepository extends R2dbcRepository<Vet, Integer>, CustomVetRepository {
+
+    @Override
+    Flux<Vet> findAll();
+
+    @Override
+    <S extends Vet> Mono<S> save(S vet);
+
+    @Override
+    Mono<Void> delete(Vet vet);
+}
@@ -1,7 +1,10 @@
 package org.springframework.samples.petclinic.r2dbc;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.samples.petclinic.model.Visit;
+import reactor.core.publisher.Flux;
 
 public interface VisitRepository extends R2dbcRepository<Visit, Integer>, CustomVisitRepository {
+    Flux<Visit> findVisitsByIdGreaterThan(int id, Pageable pageable);
 }
@@ -90,7 +90,15 @@ public class JpaOwnerRepositoryImpl implements OwnerRepository {
 
 	@Override
 	public void delete(Owner owner) throws DataAccessException {
-		this.em.remove(this.em.contains(owner) ? owner : this.em.merge(owner));
+		Integer ownerId = owner.getId();
+		// cascade delete visits and pets, one statement per table
+		this.em.createQuery("DELETE FROM Visit visit WHERE visit.pet.id IN (SELECT pet.id FROM Pet pet WHERE pet.owner.id = :id)")
+			.setParameter("id", ownerId).executeUpdate();
+		this.em.createQuery("DELETE FROM Pet pet WHERE pet.owner.id = :id").setParameter("id", ownerId).executeUpdate();
+		this.em.createQuery("DELETE FROM Owner owner WHERE owner.id = :id").setParameter("id", ownerId).executeUpdate();
+		if (em.contains(owner)) {
+			em.detach(owner);
+		}
 	}
 
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.repository.springdatajpa;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.samples.petclinic.model.Owner;
+
+@Profile("spring-data-jpa")
+public class SpringDataOwnerRepositoryImpl implements OwnerRepositoryOverride {
+
+	@PersistenceContext
+	private EntityManager em;
+
+	@Override
+	public void delete(Owner owner) {
+		Integer ownerId = owner.getId();
+		// cascade delete visits and pets, one statement per table
+		this.em.createQuery("DELETE FROM Visit visit WHERE visit.pet.id IN (SELECT pet.id FROM Pet pet WHERE pet.owner.id = :id)")
+			.setParameter("id", ownerId).executeUpdate();
+		this.em.createQuery("DELETE FROM Pet pet WHERE pet.owner.id = :id").setParameter("id", ownerId).executeUpdate();
+		this.em.createQuery("DELETE FROM Owner owner WHERE owner.id = :id").setParameter("id", ownerId).executeUpdate();
+		if (em.contains(owner)) {
+			em.detach(owner);
+		}
+	}
+
+}
@@ -36,8 +36,7 @@ public class SpringDataVisitRepositoryImpl implements VisitRepositoryOverride {
 
 	@Override
 	public void delete(Visit visit) throws DataAccessException {
-		String visitId = visit.getId().toString();
-		this.em.createQuery("DELETE FROM Visit visit WHERE id=" + visitId).executeUpdate();
+		this.em.createQuery("DELETE FROM Visit visit WHERE visit.id = :id").setParameter("id", visit.getId()).executeUpdate();
         if (em.contains(visit)) {
             em.remove(visit);
         }
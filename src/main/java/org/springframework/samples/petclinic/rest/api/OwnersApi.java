@@ -13,11 +13,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.Generated;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.rest.dto.ImportBatchDto;
 import org.springframework.samples.petclinic.rest.dto.OwnerDto;
 import org.springframework.samples.petclinic.rest.dto.OwnerFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.OwnerPatchDto;
+import org.springframework.samples.petclinic.rest.dto.OwnerRegistrationDto;
 import org.springframework.samples.petclinic.rest.dto.PetDto;
 import org.springframework.samples.petclinic.rest.dto.PetFieldsDto;
 import org.springframework.samples.petclinic.rest.dto.RestErrorDto;
@@ -29,6 +35,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -213,6 +221,49 @@ public interface OwnersApi {
     }
 
 
+    /**
+     * GET /owners/export : Exports all pet owners
+     * Streams every owner (without pets) row ordered by ID, as CSV with a header line or as one JSON document per line. The rows are read from a database cursor and encoded as they arrive, so memory use does not depend on the table size.
+     *
+     * @param format Output format. (optional, default to ndjson)
+     * @param gzip Compress the response body and send it with Content-Encoding gzip. (optional, default to false)
+     * @param exchange The exchange the export is written to.
+     * @return The pet owners, written as they are read from the database. (status code 200)
+     *         or Bad request. (status code 400)
+     *         or Server error. (status code 500)
+     */
+    @Operation(
+        operationId = "exportOwners",
+        summary = "Exports all pet owners",
+        tags = { "owner" },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "The pet owners, written as they are read from the database.", content = {
+                @Content(mediaType = "text/csv", schema = @Schema(implementation = org.springframework.core.io.Resource.class)),
+                @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = org.springframework.core.io.Resource.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Bad request.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            })
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.GET,
+        value = "/owners/export",
+        produces = { "text/csv", "application/x-ndjson" }
+    )
+    default Mono<ResponseEntity<Flux<DataBuffer>>> exportOwners(
+        @Pattern(regexp = "(?i)csv|ndjson") @Parameter(name = "format", description = "Output format.", schema = @Schema(allowableValues = { "csv", "ndjson" })) @Valid @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format,
+        @Parameter(name = "gzip", description = "Compress the response body and send it with Content-Encoding gzip.") @Valid @RequestParam(value = "gzip", required = false, defaultValue = "false") Boolean gzip,
+        @Parameter(hidden = true) final ServerWebExchange exchange
+    ) {
+        return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+    }
+
+
     /**
      * GET /owners/{ownerId} : Get a pet owner by ID
      * Returns the pet owner or a 404 error.
@@ -303,11 +354,54 @@ public interface OwnersApi {
     }
 
 
+    /**
+     * POST /owners/import : Imports pet owners
+     * Inserts owners read from a stream of JSON documents, one per line, in batches of petclinic.import.batch-size. Each batch is inserted by one statement in its own transaction; a failed batch is rolled back and reported, and the import goes on with the next one.
+     *
+     * @param ownerFieldsDtos The owners, one per line. (required)
+     * @return One result per batch, written as soon as the batch is committed or rolled back. (status code 200)
+     *         or Bad request. (status code 400)
+     *         or Server error. (status code 500)
+     */
+    @Operation(
+        operationId = "importOwners",
+        summary = "Imports pet owners",
+        description = "Inserts owners read from a stream of JSON documents, one per line, in batches of petclinic.import.batch-size. Each batch is inserted by one statement in its own transaction; a failed batch is rolled back and reported, and the import goes on with the next one.",
+        tags = { "owner" },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "One result per batch, written as soon as the batch is committed or rolled back.", content = {
+                @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = ImportBatchDto.class)),
+                @Content(mediaType = "application/json", schema = @Schema(implementation = ImportBatchDto.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Bad request.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            })
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.POST,
+        value = "/owners/import",
+        produces = { "application/x-ndjson", "application/json" },
+        consumes = { "application/x-ndjson", "application/json" }
+    )
+    default Mono<ResponseEntity<Flux<ImportBatchDto>>> importOwners(
+        @Parameter(name = "OwnerFieldsDto", description = "The owners, one per line.", required = true) @RequestBody Flux<OwnerFieldsDto> ownerFieldsDtos
+    ) {
+        return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+    }
+
+
     /**
      * GET /owners : Lists pet owners
-     * Returns an array of pet owners.
+     * Returns a page of pet owners ordered by ID.
      *
      * @param lastName Last name. (optional)
+     * @param limit Maximum number of items to return. (optional, default to 100)
+     * @param after Cursor returned in the Next-Cursor header of the previous page; only items with a greater ID are returned. (optional)
      * @return Owner details found and returned. (status code 200)
      *         or Not modified. (status code 304)
      *         or Server error. (status code 500)
@@ -332,6 +426,127 @@ public interface OwnersApi {
         produces = { "application/json" }
     )
     default  Mono<ResponseEntity<List<OwnerDto>>> listOwners(
+        @Parameter(name = "lastName", description = "Last name.") @Valid @RequestParam(value = "lastName", required = false) String lastName,
+        @Min(1) @Max(1000) @Parameter(name = "limit", description = "Maximum number of items to return.") @Valid @RequestParam(value = "limit", required = false, defaultValue = "100") Integer limit,
+        @Min(0) @Parameter(name = "after", description = "Cursor returned in the Next-Cursor header of the previous page; only items with a greater ID are returned.") @Valid @RequestParam(value = "after", required = false) Integer after
+    ) {
+        return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+    }
+
+
+    /**
+     * PATCH /owners/{ownerId} : Partially update a pet owner
+     * Updates only the fields present in the request with a single statement, without loading the pet owner first, and returns the stored editable fields. Absent or null fields are left unchanged.
+     *
+     * @param ownerId The ID of the pet owner. (required)
+     * @param ownerPatchDto The fields to change. (required)
+     * @return Update successful. (status code 200)
+     *         or Bad request. (status code 400)
+     *         or Owner not found. (status code 404)
+     *         or Server error. (status code 500)
+     */
+    @Operation(
+        operationId = "patchOwner",
+        summary = "Partially update a pet owner",
+        tags = { "owner" },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Update successful.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = OwnerFieldsDto.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Bad request.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Owner not found.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            })
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.PATCH,
+        value = "/owners/{ownerId}",
+        produces = { "application/json" },
+        consumes = { "application/merge-patch+json", "application/json" }
+    )
+    default  Mono<ResponseEntity<OwnerFieldsDto>> patchOwner(
+        @Min(0) @Parameter(name = "ownerId", description = "The ID of the pet owner.", required = true) @PathVariable("ownerId") Integer ownerId,
+        @Parameter(name = "OwnerPatchDto", description = "The fields to change.", required = true) @Valid @RequestBody OwnerPatchDto ownerPatchDto
+    ) {
+        return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+    }
+
+
+    /**
+     * POST /owners/register : Registers a pet owner with pets and visits
+     * Adds a pet owner together with their pets and each pet&#39;s visits in one transaction, and returns them with their generated IDs. Either everything is stored or nothing is.
+     *
+     * @param ownerRegistrationDto The pet owner, with the pets to add and the visits to book for each pet. (required)
+     * @return The pet owner was registered. (status code 201)
+     *         or Bad request. (status code 400)
+     *         or Server error. (status code 500)
+     */
+    @Operation(
+        operationId = "registerOwner",
+        summary = "Registers a pet owner with pets and visits",
+        tags = { "owner" },
+        responses = {
+            @ApiResponse(responseCode = "201", description = "The pet owner was registered.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = OwnerDto.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Bad request.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            })
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.POST,
+        value = "/owners/register",
+        produces = { "application/json" },
+        consumes = { "application/json" }
+    )
+    default  Mono<ResponseEntity<OwnerDto>> registerOwner(
+        @Parameter(name = "OwnerRegistrationDto", description = "The pet owner, with the pets to add and the visits to book for each pet.", required = true) @Valid @RequestBody OwnerRegistrationDto ownerRegistrationDto
+    ) {
+        return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+    }
+
+
+    /**
+     * GET /owners/stream : Streams pet owners
+     * Streams all pet owners ordered by ID, one JSON document per line for application/x-ndjson or as a JSON array written incrementally for application/json.
+     *
+     * @param lastName Last name. (optional)
+     * @return Owners streamed as they are read from the database. (status code 200)
+     *         or Server error. (status code 500)
+     */
+    @Operation(
+        operationId = "streamOwners",
+        summary = "Streams pet owners",
+        tags = { "owner" },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Owners streamed as they are read from the database.", content = {
+                @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = OwnerDto.class)),
+                @Content(mediaType = "application/json", schema = @Schema(implementation = OwnerDto.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            })
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.GET,
+        value = "/owners/stream",
+        produces = { "application/x-ndjson", "application/json" }
+    )
+    default  Mono<ResponseEntity<Flux<OwnerDto>>> streamOwners(
         @Parameter(name = "lastName", description = "Last name.") @Valid @RequestParam(value = "lastName", required = false) String lastName
     ) {
         return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
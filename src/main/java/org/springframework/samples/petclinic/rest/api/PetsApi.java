@@ -13,16 +13,23 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.Generated;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.rest.dto.ImportBatchDto;
 import org.springframework.samples.petclinic.rest.dto.PetDto;
+import org.springframework.samples.petclinic.rest.dto.PetFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.PetImportDto;
+import org.springframework.samples.petclinic.rest.dto.PetPatchDto;
 import org.springframework.samples.petclinic.rest.dto.RestErrorDto;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -165,10 +172,53 @@ public interface PetsApi {
     }
 
 
+    /**
+     * POST /pets/import : Imports pets
+     * Inserts pets read from a stream of JSON documents, one per line, in batches of petclinic.import.batch-size. Each batch is inserted by one statement in its own transaction; a failed batch is rolled back and reported, and the import goes on with the next one.
+     *
+     * @param petImportDtos The pets, one per line. (required)
+     * @return One result per batch, written as soon as the batch is committed or rolled back. (status code 200)
+     *         or Bad request. (status code 400)
+     *         or Server error. (status code 500)
+     */
+    @Operation(
+        operationId = "importPets",
+        summary = "Imports pets",
+        description = "Inserts pets read from a stream of JSON documents, one per line, in batches of petclinic.import.batch-size. Each batch is inserted by one statement in its own transaction; a failed batch is rolled back and reported, and the import goes on with the next one.",
+        tags = { "pet" },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "One result per batch, written as soon as the batch is committed or rolled back.", content = {
+                @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = ImportBatchDto.class)),
+                @Content(mediaType = "application/json", schema = @Schema(implementation = ImportBatchDto.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Bad request.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            })
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.POST,
+        value = "/pets/import",
+        produces = { "application/x-ndjson", "application/json" },
+        consumes = { "application/x-ndjson", "application/json" }
+    )
+    default Mono<ResponseEntity<Flux<ImportBatchDto>>> importPets(
+        @Parameter(name = "PetImportDto", description = "The pets, one per line.", required = true) @Valid @RequestBody Flux<PetImportDto> petImportDtos
+    ) {
+        return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+    }
+
+
     /**
      * GET /pets : Lists pet
-     * Returns an array of pet .
+     * Returns a page of pets ordered by ID.
      *
+     * @param limit Maximum number of items to return. (optional, default to 100)
+     * @param after Cursor returned in the Next-Cursor header of the previous page; only items with a greater ID are returned. (optional)
      * @return Pet types found and returned. (status code 200)
      *         or Not modified. (status code 304)
      *         or Server error. (status code 500)
@@ -193,6 +243,86 @@ public interface PetsApi {
         produces = { "application/json" }
     )
     default  Mono<ResponseEntity<List<PetDto>>> listPets(
+        @Min(1) @Max(1000) @Parameter(name = "limit", description = "Maximum number of items to return.") @Valid @RequestParam(value = "limit", required = false, defaultValue = "100") Integer limit,
+        @Min(0) @Parameter(name = "after", description = "Cursor returned in the Next-Cursor header of the previous page; only items with a greater ID are returned.") @Valid @RequestParam(value = "after", required = false) Integer after
+    ) {
+        return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+    }
+
+
+    /**
+     * PATCH /pets/{petId} : Partially update a pet
+     * Updates only the fields present in the request with a single statement, without loading the pet first, and returns the stored editable fields. Absent or null fields are left unchanged.
+     *
+     * @param petId The ID of the pet. (required)
+     * @param petPatchDto The fields to change. (required)
+     * @return Update successful. (status code 200)
+     *         or Bad request. (status code 400)
+     *         or Pet not found. (status code 404)
+     *         or Server error. (status code 500)
+     */
+    @Operation(
+        operationId = "patchPet",
+        summary = "Partially update a pet",
+        tags = { "pet" },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Update successful.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = PetFieldsDto.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Bad request.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Pet not found.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            })
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.PATCH,
+        value = "/pets/{petId}",
+        produces = { "application/json" },
+        consumes = { "application/merge-patch+json", "application/json" }
+    )
+    default Mono<ResponseEntity<PetFieldsDto>> patchPet(
+        @Min(0) @Parameter(name = "petId", description = "The ID of the pet.", required = true) @PathVariable("petId") Integer petId,
+        @Parameter(name = "PetPatchDto", description = "The fields to change.", required = true) @Valid @RequestBody PetPatchDto petPatchDto
+    ) {
+        return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+    }
+
+
+    /**
+     * GET /pets/stream : Streams pets
+     * Streams all pets ordered by ID, one JSON document per line for application/x-ndjson or as a JSON array written incrementally for application/json.
+     *
+     * @return Pets streamed as they are read from the database. (status code 200)
+     *         or Server error. (status code 500)
+     */
+    @Operation(
+        operationId = "streamPets",
+        summary = "Streams pets",
+        tags = { "pet" },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Pets streamed as they are read from the database.", content = {
+                @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = PetDto.class)),
+                @Content(mediaType = "application/json", schema = @Schema(implementation = PetDto.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            })
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.GET,
+        value = "/pets/stream",
+        produces = { "application/x-ndjson", "application/json" }
+    )
+    default  Mono<ResponseEntity<Flux<PetDto>>> streamPets(
 
     ) {
         return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
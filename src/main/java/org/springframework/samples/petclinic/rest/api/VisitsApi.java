@@ -15,16 +15,26 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.Generated;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.rest.dto.ImportBatchDto;
 import org.springframework.samples.petclinic.rest.dto.RestErrorDto;
 import org.springframework.samples.petclinic.rest.dto.VisitDto;
+import org.springframework.samples.petclinic.rest.dto.VisitFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.VisitImportDto;
+import org.springframework.samples.petclinic.rest.dto.VisitPatchDto;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -125,6 +135,49 @@ public interface VisitsApi {
     }
 
 
+    /**
+     * GET /visits/export : Exports all visits
+     * Streams every visit row ordered by ID, as CSV with a header line or as one JSON document per line. The rows are read from a database cursor and encoded as they arrive, so memory use does not depend on the table size.
+     *
+     * @param format Output format. (optional, default to ndjson)
+     * @param gzip Compress the response body and send it with Content-Encoding gzip. (optional, default to false)
+     * @param exchange The exchange the export is written to.
+     * @return The visits, written as they are read from the database. (status code 200)
+     *         or Bad request. (status code 400)
+     *         or Server error. (status code 500)
+     */
+    @Operation(
+        operationId = "exportVisits",
+        summary = "Exports all visits",
+        tags = { "visit" },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "The visits, written as they are read from the database.", content = {
+                @Content(mediaType = "text/csv", schema = @Schema(implementation = org.springframework.core.io.Resource.class)),
+                @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = org.springframework.core.io.Resource.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Bad request.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            })
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.GET,
+        value = "/visits/export",
+        produces = { "text/csv", "application/x-ndjson" }
+    )
+    default Mono<ResponseEntity<Flux<DataBuffer>>> exportVisits(
+        @Pattern(regexp = "(?i)csv|ndjson") @Parameter(name = "format", description = "Output format.", schema = @Schema(allowableValues = { "csv", "ndjson" })) @Valid @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format,
+        @Parameter(name = "gzip", description = "Compress the response body and send it with Content-Encoding gzip.") @Valid @RequestParam(value = "gzip", required = false, defaultValue = "false") Boolean gzip,
+        @Parameter(hidden = true) final ServerWebExchange exchange
+    ) {
+        return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+    }
+
+
     /**
      * GET /visits/{visitId} : Get a visit by ID
      * Returns the visit or a 404 error.
@@ -170,10 +223,53 @@ public interface VisitsApi {
     }
 
 
+    /**
+     * POST /visits/import : Imports visits
+     * Inserts visits read from a stream of JSON documents, one per line, in batches of petclinic.import.batch-size. Each batch is inserted by one statement in its own transaction; a failed batch is rolled back and reported, and the import goes on with the next one.
+     *
+     * @param visitImportDtos The visits, one per line. (required)
+     * @return One result per batch, written as soon as the batch is committed or rolled back. (status code 200)
+     *         or Bad request. (status code 400)
+     *         or Server error. (status code 500)
+     */
+    @Operation(
+        operationId = "importVisits",
+        summary = "Imports visits",
+        description = "Inserts visits read from a stream of JSON documents, one per line, in batches of petclinic.import.batch-size. Each batch is inserted by one statement in its own transaction; a failed batch is rolled back and reported, and the import goes on with the next one.",
+        tags = { "visit" },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "One result per batch, written as soon as the batch is committed or rolled back.", content = {
+                @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = ImportBatchDto.class)),
+                @Content(mediaType = "application/json", schema = @Schema(implementation = ImportBatchDto.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Bad request.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            })
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.POST,
+        value = "/visits/import",
+        produces = { "application/x-ndjson", "application/json" },
+        consumes = { "application/x-ndjson", "application/json" }
+    )
+    default Mono<ResponseEntity<Flux<ImportBatchDto>>> importVisits(
+        @Parameter(name = "VisitImportDto", description = "The visits, one per line.", required = true) @Valid @RequestBody Flux<VisitImportDto> visitImportDtos
+    ) {
+        return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+    }
+
+
     /**
      * GET /visits : Lists visits
-     * Returns an array of visit .
+     * Returns a page of visits ordered by ID.
      *
+     * @param limit Maximum number of items to return. (optional, default to 100)
+     * @param after Cursor returned in the Next-Cursor header of the previous page; only items with a greater ID are returned. (optional)
      * @return visits found and returned. (status code 200)
      *         or Not modified. (status code 304)
      *         or Server error. (status code 500)
@@ -181,7 +277,7 @@ public interface VisitsApi {
     @Operation(
         operationId = "listVisits",
         summary = "Lists visits",
-        description = "Returns an array of visit .",
+        description = "Returns a page of visits ordered by ID.",
         tags = { "visit" },
         responses = {
             @ApiResponse(responseCode = "200", description = "visits found and returned.", content = {
@@ -199,6 +295,86 @@ public interface VisitsApi {
         produces = { "application/json" }
     )
     default Mono<ResponseEntity<List<VisitDto>>> listVisits(
+        @Min(1) @Max(1000) @Parameter(name = "limit", description = "Maximum number of items to return.") @Valid @RequestParam(value = "limit", required = false, defaultValue = "100") Integer limit,
+        @Min(0) @Parameter(name = "after", description = "Cursor returned in the Next-Cursor header of the previous page; only items with a greater ID are returned.") @Valid @RequestParam(value = "after", required = false) Integer after
+    ) {
+        return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+    }
+
+
+    /**
+     * PATCH /visits/{visitId} : Partially update a visit
+     * Updates only the fields present in the request with a single statement, without loading the visit first, and returns the stored editable fields. Absent or null fields are left unchanged.
+     *
+     * @param visitId The ID of the visit. (required)
+     * @param visitPatchDto The fields to change. (required)
+     * @return Update successful. (status code 200)
+     *         or Bad request. (status code 400)
+     *         or Visit not found. (status code 404)
+     *         or Server error. (status code 500)
+     */
+    @Operation(
+        operationId = "patchVisit",
+        summary = "Partially update a visit",
+        tags = { "visit" },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Update successful.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = VisitFieldsDto.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Bad request.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            }),
+            @ApiResponse(responseCode = "404", description = "Visit not found.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            })
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.PATCH,
+        value = "/visits/{visitId}",
+        produces = { "application/json" },
+        consumes = { "application/merge-patch+json", "application/json" }
+    )
+    default Mono<ResponseEntity<VisitFieldsDto>> patchVisit(
+        @Min(0) @Parameter(name = "visitId", description = "The ID of the visit.", required = true, in = ParameterIn.PATH) @PathVariable("visitId") Integer visitId,
+        @Parameter(name = "VisitPatchDto", description = "The fields to change.", required = true) @Valid @RequestBody VisitPatchDto visitPatchDto
+    ) {
+        return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+    }
+
+
+    /**
+     * GET /visits/stream : Streams visits
+     * Streams all visits ordered by ID, one JSON document per line for application/x-ndjson or as a JSON array written incrementally for application/json.
+     *
+     * @return Visits streamed as they are read from the database. (status code 200)
+     *         or Server error. (status code 500)
+     */
+    @Operation(
+        operationId = "streamVisits",
+        summary = "Streams visits",
+        tags = { "visit" },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Visits streamed as they are read from the database.", content = {
+                @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = VisitDto.class)),
+                @Content(mediaType = "application/json", schema = @Schema(implementation = VisitDto.class))
+            }),
+            @ApiResponse(responseCode = "500", description = "Server error.", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = RestErrorDto.class))
+            })
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.GET,
+        value = "/visits/stream",
+        produces = { "application/x-ndjson", "application/json" }
+    )
+    default  Mono<ResponseEntity<Flux<VisitDto>>> streamVisits(
 
     ) {
         return Mono.just(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.rest.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.model.BaseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination for the list endpoints. Repositories are asked for one row more than the page size; if that row
+ * arrives, it is dropped and the ID of the last returned row is sent back in the <code>Next-Cursor</code> header.
+ */
+final class KeysetPage {
+
+    static final String NEXT_CURSOR = "Next-Cursor";
+
+    private KeysetPage() {
+    }
+
+    static int after(Integer after) {
+        return after != null ? after : 0;
+    }
+
+    static int fetchSize(int limit) {
+        return limit + 1;
+    }
+
+    static <E extends BaseEntity, D> Mono<ResponseEntity<List<D>>> toResponse(Flux<E> rows, int limit,
+                                                                                Function<List<E>, List<D>> mapper) {
+        return rows.collectList().map(list -> {
+            HttpHeaders headers = new HttpHeaders();
+            List<E> page = list;
+            if (list.size() > limit) {
+                page = list.subList(0, limit);
+                headers.set(NEXT_CURSOR, String.valueOf(page.get(limit - 1).getId()));
+            }
+            return new ResponseEntity<>(mapper.apply(page), headers, HttpStatus.OK);
+        });
+    }
+
+}
@@ -0,0 +1,32 @@
+package org.springframework.samples.petclinic.rest.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.samples.petclinic.service.ReactiveClinicService;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Serves <code>GET /api/owners/{ownerId}</code> from a JSON document rendered by the database, skipping the entity,
+ * DTO and Jackson steps of {@link OwnerRestController#getOwner}. Router functions are mapped before annotated
+ * controllers, so when enabled this route takes over; ids that are not numeric still reach the controller.
+ */
+@Configuration
+@ConditionalOnProperty(name = "petclinic.owners.json-from-database", havingValue = "true")
+public class OwnerJsonRoutes {
+
+    @Bean
+    public RouterFunction<ServerResponse> ownerJsonRoute(ReactiveClinicService reactiveClinicService) {
+        return route(GET("/api/owners/{ownerId:\\d{1,9}}").and(accept(MediaType.APPLICATION_JSON)), request ->
+            reactiveClinicService.findOwnerJsonById(Integer.parseInt(request.pathVariable("ownerId")))
+                .flatMap(json -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(json))
+                .switchIfEmpty(ServerResponse.notFound().build()));
+    }
+
+}
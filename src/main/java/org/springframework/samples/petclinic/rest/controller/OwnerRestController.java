@@ -18,9 +18,11 @@ package org.springframework.samples.petclinic.rest.controller;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.mapper.ImportBatchMapper;
 import org.springframework.samples.petclinic.mapper.OwnerMapper;
 import org.springframework.samples.petclinic.mapper.PetMapper;
 import org.springframework.samples.petclinic.mapper.VisitMapper;
@@ -28,8 +30,11 @@ import org.springframework.samples.petclinic.model.Owner;
 import org.springframework.samples.petclinic.model.Pet;
 import org.springframework.samples.petclinic.model.Visit;
 import org.springframework.samples.petclinic.rest.api.OwnersApi;
+import org.springframework.samples.petclinic.rest.dto.ImportBatchDto;
 import org.springframework.samples.petclinic.rest.dto.OwnerDto;
 import org.springframework.samples.petclinic.rest.dto.OwnerFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.OwnerPatchDto;
+import org.springframework.samples.petclinic.rest.dto.OwnerRegistrationDto;
 import org.springframework.samples.petclinic.rest.dto.PetDto;
 import org.springframework.samples.petclinic.rest.dto.PetFieldsDto;
 import org.springframework.samples.petclinic.rest.dto.VisitDto;
@@ -38,22 +43,34 @@ import org.springframework.samples.petclinic.service.ReactiveClinicService;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
 
+import static org.springframework.samples.petclinic.rest.controller.RowExport.column;
+
 /**
  * @author Vitaliy Fedoriv
  */
 
 @RestController
-@CrossOrigin(exposedHeaders = "errors, content-type")
+@CrossOrigin(exposedHeaders = "errors, content-type, " + KeysetPage.NEXT_CURSOR)
 @RequestMapping("/api")
 public class OwnerRestController implements OwnersApi {
 
     private static final Logger logger = LoggerFactory.getLogger(OwnerRestController.class);
 
+    private static final RowExport<Owner> OWNER_EXPORT = new RowExport<>("owners", List.of(
+        column("id", Owner::getId),
+        column("firstName", Owner::getFirstName),
+        column("lastName", Owner::getLastName),
+        column("address", Owner::getAddress),
+        column("city", Owner::getCity),
+        column("telephone", Owner::getTelephone)));
+
     private final ReactiveClinicService reactiveClinicService;
 
     private final OwnerMapper ownerMapper;
@@ -62,24 +79,57 @@ public class OwnerRestController implements OwnersApi {
 
     private final VisitMapper visitMapper;
 
+    private final ImportBatchMapper importBatchMapper;
+
     public OwnerRestController(ReactiveClinicService reactiveClinicService,
                                OwnerMapper ownerMapper,
                                PetMapper petMapper,
-                               VisitMapper visitMapper) {
+                               VisitMapper visitMapper,
+                               ImportBatchMapper importBatchMapper) {
         this.reactiveClinicService = reactiveClinicService;
         this.ownerMapper = ownerMapper;
         this.petMapper = petMapper;
         this.visitMapper = visitMapper;
+        this.importBatchMapper = importBatchMapper;
     }
 
 //    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
     @Override
-    public Mono<ResponseEntity<List<OwnerDto>>> listOwners(String lastName) {
-        return (lastName != null
-            ? reactiveClinicService.findOwnerByLastName(lastName)
-            : reactiveClinicService.findAllOwners())
-            .collectList().map(ownerMapper::toOwnerDtoCollection).map(ResponseEntity::ok)
-            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    public Mono<ResponseEntity<List<OwnerDto>>> listOwners(String lastName, Integer limit, Integer after) {
+        return KeysetPage.toResponse(
+            reactiveClinicService.findOwners(lastName, KeysetPage.after(after), KeysetPage.fetchSize(limit)),
+            limit, ownerMapper::toOwnerDtoCollection);
+    }
+
+//    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<Flux<ImportBatchDto>>> importOwners(Flux<OwnerFieldsDto> ownerFieldsDtos) {
+        return Mono.just(ResponseEntity.ok(reactiveClinicService.importOwners(ownerFieldsDtos.map(ownerMapper::toOwner))
+            .map(importBatchMapper::toImportBatchDto)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<OwnerDto>> registerOwner(OwnerRegistrationDto ownerRegistrationDto) {
+        return reactiveClinicService.registerOwner(ownerMapper.toOwner(ownerRegistrationDto)).map(owner -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setLocation(UriComponentsBuilder.newInstance()
+                .path("/api/owners/{id}").buildAndExpand(owner.getId()).toUri());
+            return new ResponseEntity<>(ownerMapper.toOwnerDto(owner), headers, HttpStatus.CREATED);
+        });
+    }
+
+//    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<Flux<OwnerDto>>> streamOwners(String lastName) {
+        return Mono.just(ResponseEntity.ok(reactiveClinicService.streamOwners(lastName).map(ownerMapper::toOwnerDto)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportOwners(String format, Boolean gzip, ServerWebExchange exchange) {
+        return Mono.fromCallable(() -> OWNER_EXPORT.toResponse(reactiveClinicService.exportOwners(), format, gzip,
+            exchange.getResponse().bufferFactory()));
     }
 
 //    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
@@ -115,6 +165,21 @@ public class OwnerRestController implements OwnersApi {
             .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
     }
 
+//    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<OwnerFieldsDto>> patchOwner(Integer ownerId, OwnerPatchDto ownerPatchDto) {
+        return reactiveClinicService.patchOwner(ownerId, ownerMapper.toOwner(ownerPatchDto))
+            .map(ownerMapper::toOwnerFieldsDto).map(ResponseEntity::ok)
+            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<OwnerDto>> deleteOwner(Integer ownerId) {
+        return reactiveClinicService.deleteOwner(ownerId)
+            .map(deleted -> new ResponseEntity<OwnerDto>(deleted ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND));
+    }
+
 //    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
     @Override
     public Mono<ResponseEntity<PetDto>> addPetToOwner(Integer ownerId, PetFieldsDto petFieldsDto) {
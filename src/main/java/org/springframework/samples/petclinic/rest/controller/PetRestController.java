@@ -18,13 +18,19 @@ package org.springframework.samples.petclinic.rest.controller;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.mapper.ImportBatchMapper;
 import org.springframework.samples.petclinic.mapper.PetMapper;
 import org.springframework.samples.petclinic.rest.api.PetsApi;
+import org.springframework.samples.petclinic.rest.dto.ImportBatchDto;
 import org.springframework.samples.petclinic.rest.dto.PetDto;
+import org.springframework.samples.petclinic.rest.dto.PetFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.PetImportDto;
+import org.springframework.samples.petclinic.rest.dto.PetPatchDto;
 import org.springframework.samples.petclinic.service.ReactiveClinicService;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -34,7 +40,7 @@ import java.util.List;
  */
 
 @RestController
-@CrossOrigin(exposedHeaders = "errors, content-type")
+@CrossOrigin(exposedHeaders = "errors, content-type, " + KeysetPage.NEXT_CURSOR)
 @RequestMapping("api")
 public class PetRestController implements PetsApi {
 
@@ -42,9 +48,13 @@ public class PetRestController implements PetsApi {
 
     private final PetMapper petMapper;
 
-    public PetRestController(ReactiveClinicService reactiveClinicService, PetMapper petMapper) {
+    private final ImportBatchMapper importBatchMapper;
+
+    public PetRestController(ReactiveClinicService reactiveClinicService, PetMapper petMapper,
+                             ImportBatchMapper importBatchMapper) {
         this.reactiveClinicService = reactiveClinicService;
         this.petMapper = petMapper;
+        this.importBatchMapper = importBatchMapper;
     }
 
 //    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
@@ -56,10 +66,23 @@ public class PetRestController implements PetsApi {
 
 //    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
     @Override
-    public Mono<ResponseEntity<List<PetDto>>> listPets() {
-        return reactiveClinicService.findAllPets()
-            .collectList().map(petMapper::toPetsDto).map(ResponseEntity::ok)
-            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    public Mono<ResponseEntity<Flux<ImportBatchDto>>> importPets(Flux<PetImportDto> petImportDtos) {
+        return Mono.just(ResponseEntity.ok(reactiveClinicService.importPets(petImportDtos.map(petMapper::toPet))
+            .map(importBatchMapper::toImportBatchDto)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<List<PetDto>>> listPets(Integer limit, Integer after) {
+        return KeysetPage.toResponse(
+            reactiveClinicService.findPets(KeysetPage.after(after), KeysetPage.fetchSize(limit)),
+            limit, petMapper::toPetsDto);
+    }
+
+//    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<Flux<PetDto>>> streamPets() {
+        return Mono.just(ResponseEntity.ok(reactiveClinicService.streamPets().map(petMapper::toPetDto)));
     }
 
 
@@ -76,4 +99,19 @@ public class PetRestController implements PetsApi {
             .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
     }
 
+//    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<PetFieldsDto>> patchPet(Integer petId, PetPatchDto petPatchDto) {
+        return reactiveClinicService.patchPet(petId, petMapper.toPet(petPatchDto))
+            .map(petMapper::toPetFieldsDto).map(ResponseEntity::ok)
+            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<PetDto>> deletePet(Integer petId) {
+        return reactiveClinicService.deletePet(petId)
+            .map(deleted -> new ResponseEntity<PetDto>(deleted ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND));
+    }
+
 }
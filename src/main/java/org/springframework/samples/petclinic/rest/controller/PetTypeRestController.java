@@ -16,13 +16,80 @@
 
 package org.springframework.samples.petclinic.rest.controller;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.mapper.PetTypeMapper;
+import org.springframework.samples.petclinic.model.PetType;
 import org.springframework.samples.petclinic.rest.api.PettypesApi;
+import org.springframework.samples.petclinic.rest.dto.PetTypeDto;
+import org.springframework.samples.petclinic.service.ReactiveClinicService;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 @RestController
 @CrossOrigin(exposedHeaders = "errors, content-type")
 @RequestMapping("api")
 public class PetTypeRestController implements PettypesApi {
+
+    private final ReactiveClinicService reactiveClinicService;
+
+    private final PetTypeMapper petTypeMapper;
+
+    public PetTypeRestController(ReactiveClinicService reactiveClinicService, PetTypeMapper petTypeMapper) {
+        this.reactiveClinicService = reactiveClinicService;
+        this.petTypeMapper = petTypeMapper;
+    }
+
+//    @PreAuthorize("hasAnyRole(@roles.OWNER_ADMIN, @roles.VET_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<List<PetTypeDto>>> listPetTypes() {
+        return reactiveClinicService.findAllPetTypes()
+            .collectList().filter(petTypes -> !petTypes.isEmpty())
+            .map(petTypeMapper::toPetTypeDtos).map(ResponseEntity::ok)
+            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+//    @PreAuthorize("hasAnyRole(@roles.OWNER_ADMIN, @roles.VET_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<PetTypeDto>> getPetType(Integer petTypeId) {
+        return reactiveClinicService.findPetTypeById(petTypeId).map(petTypeMapper::toPetTypeDto).map(ResponseEntity::ok)
+            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.VET_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<PetTypeDto>> addPetType(PetTypeDto petTypeDto) {
+        PetType type = petTypeMapper.toPetType(petTypeDto);
+        type.setId(null);
+        return reactiveClinicService.savePetType(type).map(saved -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setLocation(UriComponentsBuilder.newInstance().path("/api/pettypes/{id}")
+                .buildAndExpand(saved.getId()).toUri());
+            return new ResponseEntity<>(petTypeMapper.toPetTypeDto(saved), headers, HttpStatus.CREATED);
+        });
+    }
+
+//    @PreAuthorize("hasRole(@roles.VET_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<PetTypeDto>> updatePetType(Integer petTypeId, PetTypeDto petTypeDto) {
+        return reactiveClinicService.findPetTypeById(petTypeId).flatMap(currentPetType -> {
+                currentPetType.setName(petTypeDto.getName());
+                return reactiveClinicService.savePetType(currentPetType);
+            }).map(petTypeMapper::toPetTypeDto).map(ResponseEntity::ok)
+            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.VET_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<PetTypeDto>> deletePetType(Integer petTypeId) {
+        return reactiveClinicService.deletePetType(petTypeId)
+            .map(deleted -> new ResponseEntity<PetTypeDto>(deleted ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND));
+    }
+
 }
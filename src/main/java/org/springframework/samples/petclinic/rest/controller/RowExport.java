@@ -0,0 +1,289 @@
+package org.springframework.samples.petclinic.rest.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes rows for the export endpoints as CSV or NDJSON straight into <code>DataBuffer</code>s of the response,
+ * optionally gzipped. Rows are encoded {@value #ROWS_PER_BUFFER} at a time as they arrive, so memory use does not grow
+ * with the number of rows exported.
+ */
+final class RowExport<T> {
+
+    private static final int ROWS_PER_BUFFER = 64;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactoryBuilder()
+        .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+        .rootValueSeparator((String) null)
+        .build();
+
+    private final String name;
+
+    private final List<Column<T>> columns;
+
+    RowExport(String name, List<Column<T>> columns) {
+        this.name = name;
+        this.columns = columns;
+    }
+
+    static <T> Column<T> column(String name, Function<T, ?> value) {
+        return new Column<>(name, value);
+    }
+
+    /**
+     * @param format        <code>csv</code> or <code>ndjson</code>, case-insensitive
+     * @param gzip          whether to compress the body and send it with <code>Content-Encoding: gzip</code>
+     * @param bufferFactory the factory of the response, so the buffers are written out without copying
+     * @throws IllegalArgumentException if the format is unknown; the export endpoints reject it with a 400 first
+     */
+    ResponseEntity<Flux<DataBuffer>> toResponse(Flux<T> rows, String format, boolean gzip,
+                                                DataBufferFactory bufferFactory) {
+        Format outputFormat = Format.valueOf(format.toUpperCase(Locale.ROOT));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(outputFormat.mediaType);
+        headers.setContentDisposition(ContentDisposition.attachment()
+            .filename(name + "." + outputFormat.name().toLowerCase(Locale.ROOT))
+            .build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return new ResponseEntity<>(encode(rows, outputFormat, gzip, bufferFactory), headers, HttpStatus.OK);
+    }
+
+    private Flux<DataBuffer> encode(Flux<T> rows, Format format, boolean gzip, DataBufferFactory bufferFactory) {
+        return Flux.using(() -> new Sink(bufferFactory, gzip), sink -> {
+                Flux<DataBuffer> body = rows.buffer(ROWS_PER_BUFFER)
+                    .map(chunk -> sink.write(out -> {
+                        if (format == Format.CSV) {
+                            writeCsv(chunk, out);
+                        } else {
+                            writeNdjson(chunk, out);
+                        }
+                    }));
+                if (format == Format.CSV) {
+                    body = body.startWith(Mono.fromCallable(() -> sink.write(this::writeCsvHeader)));
+                }
+                return body.concatWith(Mono.fromCallable(sink::finish));
+            }, Sink::close)
+            .handle((DataBuffer buffer, SynchronousSink<DataBuffer> next) -> {
+                if (buffer.readableByteCount() > 0) {
+                    next.next(buffer);
+                } else {
+                    DataBufferUtils.release(buffer);
+                }
+            })
+            .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private void writeCsvHeader(OutputStream out) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (Column<T> column : columns) {
+            line.append(line.length() == 0 ? "" : ",").append(column.name);
+        }
+        out.write(line.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeCsv(List<T> chunk, OutputStream out) throws IOException {
+        StringBuilder lines = new StringBuilder(chunk.size() * 64);
+        for (T row : chunk) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    lines.append(',');
+                }
+                Object value = columns.get(i).value.apply(row);
+                if (value != null) {
+                    appendCsvValue(lines, value.toString());
+                }
+            }
+            lines.append('\n');
+        }
+        out.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Quotes values containing a separator, quote or line break, doubling embedded quotes (RFC 4180).
+     */
+    private static void appendCsvValue(StringBuilder line, String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            line.append(c);
+            if (c == '"') {
+                line.append('"');
+            }
+        }
+        line.append('"');
+    }
+
+    private void writeNdjson(List<T> chunk, OutputStream out) throws IOException {
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out)) {
+            for (T row : chunk) {
+                json.writeStartObject();
+                for (Column<T> column : columns) {
+                    Object value = column.value.apply(row);
+                    if (value == null) {
+                        json.writeNullField(column.name);
+                    } else if (value instanceof Integer number) {
+                        json.writeNumberField(column.name, number);
+                    } else {
+                        json.writeStringField(column.name, value.toString());
+                    }
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+            }
+        }
+    }
+
+    record Column<T>(String name, Function<T, ?> value) {
+    }
+
+    private enum Format {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON(MediaType.APPLICATION_NDJSON);
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Writes each buffer into a new <code>DataBuffer</code> of the response. With gzip, the deflater is sync-flushed
+     * after every buffer so each one can be sent on its own, and its state is kept across buffers.
+     */
+    private static final class Sink {
+
+        private final DataBufferFactory bufferFactory;
+
+        private final boolean gzip;
+
+        private final Target target = new Target();
+
+        private OutputStream out;
+
+        private DataBuffer buffer;
+
+        Sink(DataBufferFactory bufferFactory, boolean gzip) {
+            this.bufferFactory = bufferFactory;
+            this.gzip = gzip;
+        }
+
+        DataBuffer write(Writer writer) {
+            try {
+                start();
+                writer.write(out);
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return take();
+        }
+
+        DataBuffer finish() throws IOException {
+            start();
+            if (out instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+            return take();
+        }
+
+        /**
+         * Ends the deflater, if any. Whatever it still writes, such as the trailer of a cancelled export, is dropped,
+         * and so is a buffer left half-written by a failed row.
+         */
+        void close() {
+            DataBuffer unsent = take();
+            try {
+                if (out != null) {
+                    out.close();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                if (unsent != null) {
+                    DataBufferUtils.release(unsent);
+                }
+            }
+        }
+
+        /**
+         * Points the output at a new buffer. The gzip stream is created on the first call, as it writes its header
+         * straight away.
+         */
+        private void start() throws IOException {
+            buffer = bufferFactory.allocateBuffer(BUFFER_SIZE);
+            target.delegate = buffer.asOutputStream();
+            if (out == null) {
+                out = gzip ? new GZIPOutputStream(target, BUFFER_SIZE, true) : target;
+            }
+        }
+
+        private DataBuffer take() {
+            DataBuffer taken = buffer;
+            buffer = null;
+            target.delegate = OutputStream.nullOutputStream();
+            return taken;
+        }
+
+    }
+
+    /**
+     * The stream the deflater writes to, pointed at the buffer being filled.
+     */
+    private static final class Target extends OutputStream {
+
+        private OutputStream delegate = OutputStream.nullOutputStream();
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.rest.controller;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.config.VetServiceConfig;
+import org.springframework.samples.petclinic.mapper.SpecialtyMapper;
+import org.springframework.samples.petclinic.model.Specialty;
+import org.springframework.samples.petclinic.rest.api.SpecialtiesApi;
+import org.springframework.samples.petclinic.rest.dto.SpecialtyDto;
+import org.springframework.samples.petclinic.service.ReactiveVetService;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@CrossOrigin(exposedHeaders = "errors, content-type")
+@RequestMapping("api")
+public class SpecialtyRestController implements SpecialtiesApi {
+
+    private final ReactiveVetService vetService;
+
+    private final SpecialtyMapper specialtyMapper;
+
+    public SpecialtyRestController(@Qualifier(VetServiceConfig.VET_SERVICE) ReactiveVetService vetService,
+                                   SpecialtyMapper specialtyMapper) {
+        this.vetService = vetService;
+        this.specialtyMapper = specialtyMapper;
+    }
+
+//    @PreAuthorize("hasRole(@roles.VET_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<List<SpecialtyDto>>> listSpecialties() {
+        return vetService.findAllSpecialties()
+            .collectList().filter(specialties -> !specialties.isEmpty())
+            .map(specialtyMapper::toSpecialtyDtos).map(ResponseEntity::ok)
+            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.VET_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<SpecialtyDto>> getSpecialty(Integer specialtyId) {
+        return vetService.findSpecialtyById(specialtyId).map(specialtyMapper::toSpecialtyDto)
+            .map(ResponseEntity::ok)
+            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.VET_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<SpecialtyDto>> addSpecialty(SpecialtyDto specialtyDto) {
+        Specialty specialty = specialtyMapper.toSpecialty(specialtyDto);
+        specialty.setId(null);
+        return vetService.saveSpecialty(specialty).map(saved -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setLocation(UriComponentsBuilder.newInstance().path("/api/specialties/{id}")
+                .buildAndExpand(saved.getId()).toUri());
+            return new ResponseEntity<>(specialtyMapper.toSpecialtyDto(saved), headers, HttpStatus.CREATED);
+        });
+    }
+
+//    @PreAuthorize("hasRole(@roles.VET_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<SpecialtyDto>> updateSpecialty(Integer specialtyId, SpecialtyDto specialtyDto) {
+        return vetService.findSpecialtyById(specialtyId).flatMap(currentSpecialty -> {
+                currentSpecialty.setName(specialtyDto.getName());
+                return vetService.saveSpecialty(currentSpecialty);
+            }).map(specialtyMapper::toSpecialtyDto).map(ResponseEntity::ok)
+            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.VET_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<SpecialtyDto>> deleteSpecialty(Integer specialtyId) {
+        return vetService.findSpecialtyById(specialtyId)
+            .flatMap(specialty -> vetService.deleteSpecialty(specialty)
+                .thenReturn(new ResponseEntity<SpecialtyDto>(HttpStatus.NO_CONTENT)))
+            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.rest.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.mapper.UserMapper;
+import org.springframework.samples.petclinic.model.User;
+import org.springframework.samples.petclinic.rest.api.UsersApi;
+import org.springframework.samples.petclinic.rest.dto.UserDto;
+import org.springframework.samples.petclinic.service.BlockingServiceAdapter;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@CrossOrigin(exposedHeaders = "errors, content-type")
+@RequestMapping("api")
+public class UserRestController implements UsersApi {
+
+    private final BlockingServiceAdapter blockingServiceAdapter;
+
+    private final UserMapper userMapper;
+
+    public UserRestController(BlockingServiceAdapter blockingServiceAdapter, UserMapper userMapper) {
+        this.blockingServiceAdapter = blockingServiceAdapter;
+        this.userMapper = userMapper;
+    }
+
+//    @PreAuthorize("hasRole(@roles.ADMIN)")
+    @Override
+    public Mono<ResponseEntity<UserDto>> addUser(UserDto userDto) {
+        User user = userMapper.toUser(userDto);
+        return blockingServiceAdapter.saveUser(user)
+            .map(saved -> new ResponseEntity<>(userMapper.toUserDto(saved), HttpStatus.CREATED));
+    }
+
+}
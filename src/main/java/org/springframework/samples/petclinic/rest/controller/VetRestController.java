@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.samples.petclinic.rest.controller;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.config.VetServiceConfig;
+import org.springframework.samples.petclinic.mapper.SpecialtyMapper;
+import org.springframework.samples.petclinic.mapper.VetMapper;
+import org.springframework.samples.petclinic.model.Vet;
+import org.springframework.samples.petclinic.rest.api.VetsApi;
+import org.springframework.samples.petclinic.rest.dto.VetDto;
+import org.springframework.samples.petclinic.service.ReactiveVetService;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@CrossOrigin(exposedHeaders = "errors, content-type")
+@RequestMapping("api")
+public class VetRestController implements VetsApi {
+
+    private final ReactiveVetService vetService;
+
+    private final VetMapper vetMapper;
+
+    private final SpecialtyMapper specialtyMapper;
+
+    public VetRestController(@Qualifier(VetServiceConfig.VET_SERVICE) ReactiveVetService vetService,
+                             VetMapper vetMapper, SpecialtyMapper specialtyMapper) {
+        this.vetService = vetService;
+        this.vetMapper = vetMapper;
+        this.specialtyMapper = specialtyMapper;
+    }
+
+//    @PreAuthorize("hasRole(@roles.VET_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<List<VetDto>>> listVets() {
+        return vetService.findAllVets()
+            .collectList().filter(vets -> !vets.isEmpty())
+            .map(vetMapper::toVetDtos).map(ResponseEntity::ok)
+            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.VET_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<VetDto>> getVet(Integer vetId) {
+        return vetService.findVetById(vetId).map(vetMapper::toVetDto).map(ResponseEntity::ok)
+            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.VET_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<VetDto>> addVet(VetDto vetDto) {
+        Vet vet = vetMapper.toVet(vetDto);
+        vet.setId(null);
+        return vetService.saveVet(vet).map(saved -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setLocation(UriComponentsBuilder.newInstance().path("/api/vets/{id}")
+                .buildAndExpand(saved.getId()).toUri());
+            return new ResponseEntity<>(vetMapper.toVetDto(saved), headers, HttpStatus.CREATED);
+        });
+    }
+
+//    @PreAuthorize("hasRole(@roles.VET_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<VetDto>> updateVet(Integer vetId, VetDto vetDto) {
+        return vetService.findVetById(vetId).flatMap(currentVet -> {
+                currentVet.setFirstName(vetDto.getFirstName());
+                currentVet.setLastName(vetDto.getLastName());
+                currentVet.clearSpecialties();
+                specialtyMapper.toSpecialtys(vetDto.getSpecialties()).forEach(currentVet::addSpecialty);
+                return vetService.saveVet(currentVet);
+            }).map(vetMapper::toVetDto).map(ResponseEntity::ok)
+            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.VET_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<VetDto>> deleteVet(Integer vetId) {
+        return vetService.findVetById(vetId)
+            .flatMap(vet -> vetService.deleteVet(vet)
+                .thenReturn(new ResponseEntity<VetDto>(HttpStatus.NO_CONTENT)))
+            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+}
@@ -16,43 +16,85 @@
 
 package org.springframework.samples.petclinic.rest.controller;
 
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.samples.petclinic.mapper.ImportBatchMapper;
 import org.springframework.samples.petclinic.mapper.VisitMapper;
+import org.springframework.samples.petclinic.model.Visit;
 import org.springframework.samples.petclinic.rest.api.VisitsApi;
+import org.springframework.samples.petclinic.rest.dto.ImportBatchDto;
 import org.springframework.samples.petclinic.rest.dto.VisitDto;
+import org.springframework.samples.petclinic.rest.dto.VisitFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.VisitImportDto;
+import org.springframework.samples.petclinic.rest.dto.VisitPatchDto;
 import org.springframework.samples.petclinic.service.ReactiveClinicService;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
 
+import static org.springframework.samples.petclinic.rest.controller.RowExport.column;
+
 /**
  * @author Vitaliy Fedoriv
  */
 
 @RestController
-@CrossOrigin(exposedHeaders = "errors, content-type")
+@CrossOrigin(exposedHeaders = "errors, content-type, " + KeysetPage.NEXT_CURSOR)
 @RequestMapping("api")
 public class VisitRestController implements VisitsApi {
 
+    private static final RowExport<Visit> VISIT_EXPORT = new RowExport<>("visits", List.of(
+        column("id", Visit::getId),
+        column("petId", Visit::getPetId),
+        column("date", Visit::getDate),
+        column("description", Visit::getDescription)));
+
     private final ReactiveClinicService reactiveClinicService;
 
     private final VisitMapper visitMapper;
 
-    public VisitRestController(ReactiveClinicService reactiveClinicService, VisitMapper visitMapper) {
+    private final ImportBatchMapper importBatchMapper;
+
+    public VisitRestController(ReactiveClinicService reactiveClinicService, VisitMapper visitMapper,
+                               ImportBatchMapper importBatchMapper) {
         this.reactiveClinicService = reactiveClinicService;
         this.visitMapper = visitMapper;
+        this.importBatchMapper = importBatchMapper;
     }
 
 
 //    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
     @Override
-    public Mono<ResponseEntity<List<VisitDto>>> listVisits() {
-        return reactiveClinicService.findAllVisits().collectList().map(visitMapper::toVisitsDto).map(ResponseEntity::ok)
-            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    public Mono<ResponseEntity<Flux<ImportBatchDto>>> importVisits(Flux<VisitImportDto> visitImportDtos) {
+        return Mono.just(ResponseEntity.ok(reactiveClinicService.importVisits(visitImportDtos.map(visitMapper::toVisit))
+            .map(importBatchMapper::toImportBatchDto)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<List<VisitDto>>> listVisits(Integer limit, Integer after) {
+        return KeysetPage.toResponse(
+            reactiveClinicService.findVisits(KeysetPage.after(after), KeysetPage.fetchSize(limit)),
+            limit, visitMapper::toVisitsDto);
+    }
+
+//    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<Flux<VisitDto>>> streamVisits() {
+        return Mono.just(ResponseEntity.ok(reactiveClinicService.streamVisits().map(visitMapper::toVisitDto)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportVisits(String format, Boolean gzip, ServerWebExchange exchange) {
+        return Mono.fromCallable(() -> VISIT_EXPORT.toResponse(reactiveClinicService.exportVisits(), format, gzip,
+            exchange.getResponse().bufferFactory()));
     }
 
 //    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
@@ -73,4 +115,19 @@ public class VisitRestController implements VisitsApi {
             .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
     }
 
+//    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<VisitFieldsDto>> patchVisit(Integer visitId, VisitPatchDto visitPatchDto) {
+        return reactiveClinicService.patchVisit(visitId, visitMapper.toVisit(visitPatchDto))
+            .map(visitMapper::toVisitFieldsDto).map(ResponseEntity::ok)
+            .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+//    @PreAuthorize("hasRole(@roles.OWNER_ADMIN)")
+    @Override
+    public Mono<ResponseEntity<VisitDto>> deleteVisit(Integer visitId) {
+        return reactiveClinicService.deleteVisit(visitId)
+            .map(deleted -> new ResponseEntity<VisitDto>(deleted ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND));
+    }
+
 }
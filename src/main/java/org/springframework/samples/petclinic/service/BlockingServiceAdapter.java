@@ -0,0 +1,91 @@
+package org.springframework.samples.petclinic.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.samples.petclinic.config.BlockingSchedulerConfig;
+import org.springframework.samples.petclinic.model.Specialty;
+import org.springframework.samples.petclinic.model.User;
+import org.springframework.samples.petclinic.model.Vet;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Exposes the blocking {@link ClinicService} and {@link UserService} (JDBC, JPA or Spring Data JPA, depending on the
+ * active profile) as <code>Mono</code>/<code>Flux</code>. Every call runs on the blocking scheduler, so the event loop
+ * never waits on a JDBC connection.
+ */
+@Service
+public class BlockingServiceAdapter implements ReactiveVetService {
+
+    private final ClinicService clinicService;
+
+    private final UserService userService;
+
+    private final Scheduler scheduler;
+
+    public BlockingServiceAdapter(ClinicService clinicService, UserService userService,
+                                  @Qualifier(BlockingSchedulerConfig.BLOCKING_SCHEDULER) Scheduler scheduler) {
+        this.clinicService = clinicService;
+        this.userService = userService;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Flux<Vet> findAllVets() {
+        return call(clinicService::findAllVets).flatMapIterable(vets -> vets);
+    }
+
+    @Override
+    public Mono<Vet> findVetById(int vetId) {
+        return call(() -> clinicService.findVetById(vetId));
+    }
+
+    @Override
+    public Mono<Vet> saveVet(Vet vet) {
+        return run(() -> clinicService.saveVet(vet)).thenReturn(vet);
+    }
+
+    @Override
+    public Mono<Void> deleteVet(Vet vet) {
+        return run(() -> clinicService.deleteVet(vet));
+    }
+
+    @Override
+    public Flux<Specialty> findAllSpecialties() {
+        return call(clinicService::findAllSpecialties).flatMapIterable(specialties -> specialties);
+    }
+
+    @Override
+    public Mono<Specialty> findSpecialtyById(int specialtyId) {
+        return call(() -> clinicService.findSpecialtyById(specialtyId));
+    }
+
+    @Override
+    public Mono<Specialty> saveSpecialty(Specialty specialty) {
+        return run(() -> clinicService.saveSpecialty(specialty)).thenReturn(specialty);
+    }
+
+    @Override
+    public Mono<Void> deleteSpecialty(Specialty specialty) {
+        return run(() -> clinicService.deleteSpecialty(specialty));
+    }
+
+    public Mono<User> saveUser(User user) {
+        return run(() -> userService.saveUser(user)).thenReturn(user);
+    }
+
+    /**
+     * A <code>null</code> result completes empty, the way the blocking services report a missing entity.
+     */
+    private <T> Mono<T> call(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(scheduler);
+    }
+
+    private Mono<Void> run(Runnable call) {
+        return Mono.fromRunnable(call).subscribeOn(scheduler).then();
+    }
+
+}
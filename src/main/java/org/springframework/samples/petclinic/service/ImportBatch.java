@@ -0,0 +1,42 @@
+package org.springframework.samples.petclinic.service;
+
+import java.util.List;
+
+/**
+ * The outcome of one batch of a bulk import: the generated ids if the batch was committed, or why it was not.
+ */
+public class ImportBatch {
+
+    private final int batch;
+
+    private final List<Integer> ids;
+
+    private final String error;
+
+    private ImportBatch(int batch, List<Integer> ids, String error) {
+        this.batch = batch;
+        this.ids = ids;
+        this.error = error;
+    }
+
+    public static ImportBatch imported(int batch, List<Integer> ids) {
+        return new ImportBatch(batch, List.copyOf(ids), null);
+    }
+
+    public static ImportBatch failed(int batch, String error) {
+        return new ImportBatch(batch, List.of(), error);
+    }
+
+    public int getBatch() {
+        return batch;
+    }
+
+    public List<Integer> getIds() {
+        return ids;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+}
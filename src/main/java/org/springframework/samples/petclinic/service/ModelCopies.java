@@ -0,0 +1,85 @@
+package org.springframework.samples.petclinic.service;
+
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.Pet;
+import org.springframework.samples.petclinic.model.PetType;
+import org.springframework.samples.petclinic.model.Visit;
+
+/**
+ * Copies of loaded aggregates, for results that are shared between callers: the controllers update entities in place
+ * before saving them.
+ */
+final class ModelCopies {
+
+    private ModelCopies() {
+    }
+
+    /**
+     * Copies the owner together with its pets and their visits.
+     */
+    static Owner copy(Owner owner) {
+        var copy = copyFields(owner);
+        copy.setPets(owner.getPets().stream().map(pet -> copyFields(pet, copy)).toList());
+        return copy;
+    }
+
+    /**
+     * Copies the pet together with its visits and its owner, without the owner's pets.
+     */
+    static Pet copy(Pet pet) {
+        return copyFields(pet, pet.getOwner() != null ? copyFields(pet.getOwner()) : null);
+    }
+
+    /**
+     * Copies the visit together with its pet and the pet's owner, without the pet's visits.
+     */
+    static Visit copy(Visit visit) {
+        var copy = copyFields(visit);
+        if (visit.getPet() != null) {
+            Pet pet = visit.getPet();
+            var petCopy = new Pet();
+            petCopy.setId(pet.getId());
+            petCopy.setName(pet.getName());
+            petCopy.setBirthDate(pet.getBirthDate());
+            petCopy.setType(copyFields(pet.getType()));
+            petCopy.setTypeId(pet.getTypeId());
+            petCopy.setOwner(pet.getOwner() != null ? copyFields(pet.getOwner()) : null);
+            petCopy.setOwnerId(pet.getOwnerId());
+            copy.setPet(petCopy);
+        }
+        return copy;
+    }
+
+    private static Owner copyFields(Owner owner) {
+        var copy = new Owner();
+        copy.setId(owner.getId());
+        copy.setFirstName(owner.getFirstName());
+        copy.setLastName(owner.getLastName());
+        copy.setAddress(owner.getAddress());
+        copy.setCity(owner.getCity());
+        copy.setTelephone(owner.getTelephone());
+        return copy;
+    }
+
+    private static Pet copyFields(Pet pet, Owner owner) {
+        var copy = new Pet();
+        copy.setId(pet.getId());
+        copy.setName(pet.getName());
+        copy.setBirthDate(pet.getBirthDate());
+        copy.setType(copyFields(pet.getType()));
+        copy.setTypeId(pet.getTypeId());
+        copy.setOwner(owner);
+        copy.setOwnerId(pet.getOwnerId());
+        copy.setVisits(pet.getVisits().stream().map(ModelCopies::copyFields).toList());
+        return copy;
+    }
+
+    private static Visit copyFields(Visit visit) {
+        return new Visit(visit.getId(), visit.getPetId(), visit.getDate(), visit.getDescription());
+    }
+
+    private static PetType copyFields(PetType type) {
+        return type != null ? new PetType(type.getId(), type.getName()) : null;
+    }
+
+}
@@ -0,0 +1,104 @@
+package org.springframework.samples.petclinic.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Bounded cache of <code>Owner</code> aggregates (owner, pets and visits) keyed by owner id. Entries are weighed by
+ * the number of entities they hold. Callers always get their own copy of a cached aggregate.
+ */
+@Component
+public class OwnerAggregateCache {
+
+    private final Cache<Integer, Owner> cache;
+
+    /**
+     * Bumped on every eviction so that a load which raced with a write does not cache stale rows.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public OwnerAggregateCache(MeterRegistry meterRegistry,
+                               @Value("${petclinic.owners.cache.max-weight:10000}") long maxWeight,
+                               @Value("${petclinic.owners.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher((Integer id, Owner owner) -> weight(owner))
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "owners");
+    }
+
+    public Mono<Owner> get(int ownerId, IntFunction<Mono<Owner>> loader) {
+        return Mono.defer(() -> {
+            Owner cached = cache.getIfPresent(ownerId);
+            if (cached != null) {
+                return Mono.just(ModelCopies.copy(cached));
+            }
+            long loadedAt = generation.get();
+            return loader.apply(ownerId).doOnNext(owner -> cache.asMap().compute(ownerId,
+                (id, current) -> generation.get() == loadedAt ? ModelCopies.copy(owner) : current));
+        });
+    }
+
+    /**
+     * Advances on every eviction; lookups started under an older generation must not be shared with later callers.
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    public Mono<Void> evictOwner(int ownerId) {
+        return evict(() -> cache.invalidate(ownerId));
+    }
+
+    public Mono<Void> evictOwnersOfPet(int petId) {
+        return evict(() -> cache.asMap().values()
+            .removeIf(owner -> owner.getPets().stream().anyMatch(pet -> Integer.valueOf(petId).equals(pet.getId()))));
+    }
+
+    public Mono<Void> evictAll() {
+        return evict(cache::invalidateAll);
+    }
+
+    /**
+     * Evicts now and, if a transaction is active, once more after it completes: a load running in between may have
+     * read the rows as they were before the write became visible.
+     */
+    private Mono<Void> evict(Runnable eviction) {
+        return Mono.defer(() -> {
+            generation.incrementAndGet();
+            eviction.run();
+            return TransactionSynchronizationManager.forCurrentTransaction()
+                .filter(TransactionSynchronizationManager::isSynchronizationActive)
+                .doOnNext(tsm -> tsm.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public Mono<Void> afterCompletion(int status) {
+                        generation.incrementAndGet();
+                        eviction.run();
+                        return Mono.empty();
+                    }
+                }))
+                .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+                .then();
+        });
+    }
+
+    private static int weight(Owner owner) {
+        return 1 + owner.getPets().stream().mapToInt(pet -> 1 + pet.getVisits().size()).sum();
+    }
+
+}
@@ -26,39 +26,79 @@ import reactor.core.publisher.Mono;
 /**
  * Mostly used as a facade so all controllers have a single point of entry
  */
-public interface ReactiveClinicService {
+public interface ReactiveClinicService extends ReactiveVetService {
 
     Mono<Pet> findPetById(int id);
 
     Flux<Pet> findAllPets();
 
+    Flux<Pet> findPets(int afterId, int limit);
+
+    Flux<Pet> streamPets();
+
     Mono<Pet> savePet(Pet pet);
 
+    Mono<Pet> patchPet(int petId, Pet changes);
+
+    Mono<Boolean> deletePet(int petId);
+
 
     Mono<Visit> findVisitById(int visitId);
 
     Flux<Visit> findAllVisits();
 
+    Flux<Visit> findVisits(int afterId, int limit);
+
+    Flux<Visit> streamVisits();
+
+    Flux<Visit> exportVisits();
+
     Mono<Visit> saveVisit(Visit visit);
 
+    Mono<Visit> patchVisit(int visitId, Visit changes);
+
+    Mono<Boolean> deleteVisit(int visitId);
+
 
     Mono<Owner> findOwnerById(int id);
 
     Flux<Owner> findAllOwners();
 
+    Flux<Owner> findOwners(String lastName, int afterId, int limit);
+
+    Flux<Owner> streamOwners(String lastName);
+
+    Flux<Owner> exportOwners();
+
+    Mono<String> findOwnerJsonById(int id);
+
     Mono<Owner> saveOwner(Owner owner);
 
+    Mono<Owner> registerOwner(Owner owner);
+
+    Mono<Owner> patchOwner(int ownerId, Owner changes);
+
+    Mono<Boolean> deleteOwner(int ownerId);
+
+    Flux<ImportBatch> importOwners(Flux<Owner> owners);
+
+    Flux<ImportBatch> importPets(Flux<Pet> pets);
+
+    Flux<ImportBatch> importVisits(Flux<Visit> visits);
+
 
     Flux<Owner> findOwnerByLastName(String lastName);
 
 
 
+    Mono<PetType> findPetTypeById(int petTypeId);
+
     Flux<PetType> findAllPetTypes();
 
     Flux<PetType> findPetTypes();
 
     Mono<PetType> savePetType(PetType petType);
 
-    Mono<Void> deletePetType(PetType petType);
+    Mono<Boolean> deletePetType(int petTypeId);
 
 }
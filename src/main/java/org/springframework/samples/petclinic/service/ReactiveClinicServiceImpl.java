@@ -1,34 +1,104 @@
 package org.springframework.samples.petclinic.service;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.samples.petclinic.model.BaseEntity;
 import org.springframework.samples.petclinic.model.Owner;
 import org.springframework.samples.petclinic.model.Pet;
 import org.springframework.samples.petclinic.model.PetType;
+import org.springframework.samples.petclinic.model.Specialty;
+import org.springframework.samples.petclinic.model.Vet;
 import org.springframework.samples.petclinic.model.Visit;
 import org.springframework.samples.petclinic.r2dbc.OwnerRepository;
 import org.springframework.samples.petclinic.r2dbc.PetRepository;
+import org.springframework.samples.petclinic.r2dbc.PetTypeRepository;
+import org.springframework.samples.petclinic.r2dbc.SpecialtyRepository;
+import org.springframework.samples.petclinic.r2dbc.VetRepository;
 import org.springframework.samples.petclinic.r2dbc.VisitRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
 @Service
 public class ReactiveClinicServiceImpl implements ReactiveClinicService {
 
     private final OwnerRepository ownerRepository;
     private final PetRepository petRepository;
     private final VisitRepository visitRepository;
+    private final PetTypeRepository petTypeRepository;
+    private final VetRepository vetRepository;
+    private final SpecialtyRepository specialtyRepository;
+    private final OwnerAggregateCache ownerCache;
+
+    private final SingleFlight<Owner> ownerLookups;
+    private final SingleFlight<String> ownerJsonLookups;
+    private final SingleFlight<Pet> petLookups;
+    private final SingleFlight<Visit> visitLookups;
+
+    /**
+     * Number of rows read per query by the <code>stream*</code> methods.
+     */
+    @Value("${petclinic.stream.chunk-size:128}")
+    private int streamChunkSize;
+
+    /**
+     * Number of rows inserted per statement, and per transaction, by the <code>import*</code> methods.
+     */
+    @Value("${petclinic.import.batch-size:500}")
+    private int importBatchSize;
 
-    public ReactiveClinicServiceImpl(OwnerRepository ownerRepository, PetRepository petRepository, VisitRepository visitRepository) {
+    /**
+     * Number of rows fetched per round trip from the cursor read by the <code>export*</code> methods.
+     */
+    @Value("${petclinic.export.fetch-size:256}")
+    private int exportFetchSize;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final TransactionalOperator readOnlyTransactionalOperator;
+    private final Validator validator;
+
+    public ReactiveClinicServiceImpl(OwnerRepository ownerRepository, PetRepository petRepository, VisitRepository visitRepository,
+                                     PetTypeRepository petTypeRepository, VetRepository vetRepository,
+                                     SpecialtyRepository specialtyRepository, OwnerAggregateCache ownerCache,
+                                     ReactiveTransactionManager transactionManager, Validator validator) {
         this.ownerRepository = ownerRepository;
         this.petRepository = petRepository;
         this.visitRepository = visitRepository;
+        this.petTypeRepository = petTypeRepository;
+        this.vetRepository = vetRepository;
+        this.specialtyRepository = specialtyRepository;
+        this.ownerCache = ownerCache;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        DefaultTransactionDefinition readOnly = new DefaultTransactionDefinition();
+        readOnly.setReadOnly(true);
+        this.readOnlyTransactionalOperator = TransactionalOperator.create(transactionManager, readOnly);
+        this.validator = validator;
+        this.ownerLookups = new SingleFlight<>(ownerRepository::findById, ModelCopies::copy, ownerCache::generation);
+        this.ownerJsonLookups = new SingleFlight<>(ownerRepository::findJsonById, json -> json, ownerCache::generation);
+        this.petLookups = new SingleFlight<>(petRepository::findById, ModelCopies::copy);
+        this.visitLookups = new SingleFlight<>(visitRepository::findById, ModelCopies::copy);
     }
 
     @Override
-    @Transactional(transactionManager = "connectionFactoryTransactionManager", readOnly = true)
     public Mono<Pet> findPetById(int id) {
-        return petRepository.findById(id);
+        return petLookups.get(id);
     }
 
     @Override
@@ -37,16 +107,46 @@ public class ReactiveClinicServiceImpl implements ReactiveClinicService {
         return petRepository.findAll();
     }
 
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager", readOnly = true)
+    public Flux<Pet> findPets(int afterId, int limit) {
+        return petRepository.findPetsByIdGreaterThan(afterId, PageRequest.of(0, limit, Sort.by("id")));
+    }
+
+    @Override
+    public Flux<Pet> streamPets() {
+        return streamByKeyset(
+            afterId -> petRepository.findPetsByIdGreaterThan(afterId, PageRequest.of(0, streamChunkSize, Sort.by("id"))),
+            Pet::getId);
+    }
+
     @Override
     @Transactional(transactionManager = "connectionFactoryTransactionManager")
     public Mono<Pet> savePet(Pet pet) {
-        return petRepository.save(pet);
+        return petRepository.save(pet).flatMap(saved -> ownerCache.evictOwner(saved.getOwnerId())
+            .then(ownerCache.evictOwnersOfPet(saved.getId()))
+            .thenReturn(saved));
+    }
+
+    /**
+     * A single statement, so it runs without a transaction of its own; the cache is evicted once it has committed.
+     */
+    @Override
+    public Mono<Pet> patchPet(int petId, Pet changes) {
+        return petRepository.patch(petId, changes).flatMap(patched -> ownerCache.evictOwner(patched.getOwnerId())
+            .thenReturn(patched));
+    }
+
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager")
+    public Mono<Boolean> deletePet(int petId) {
+        return petRepository.deleteWithVisits(petId).flatMap(deleted -> ownerCache.evictOwnersOfPet(petId)
+            .thenReturn(deleted));
     }
 
     @Override
-    @Transactional(transactionManager = "connectionFactoryTransactionManager", readOnly = true)
     public Mono<Visit> findVisitById(int visitId) {
-        return visitRepository.findById(visitId);
+        return visitLookups.get(visitId);
     }
 
     @Override
@@ -55,16 +155,49 @@ public class ReactiveClinicServiceImpl implements ReactiveClinicService {
         return visitRepository.findAll();
     }
 
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager", readOnly = true)
+    public Flux<Visit> findVisits(int afterId, int limit) {
+        return visitRepository.findVisitsByIdGreaterThan(afterId, PageRequest.of(0, limit, Sort.by("id")));
+    }
+
+    @Override
+    public Flux<Visit> streamVisits() {
+        return streamByKeyset(
+            afterId -> visitRepository.findVisitsByIdGreaterThan(afterId, PageRequest.of(0, streamChunkSize, Sort.by("id"))),
+            Visit::getId);
+    }
+
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager", readOnly = true)
+    public Flux<Visit> exportVisits() {
+        return visitRepository.exportAll(exportFetchSize);
+    }
+
     @Override
     @Transactional(transactionManager = "connectionFactoryTransactionManager")
     public Mono<Visit> saveVisit(Visit visit) {
-        return visitRepository.save(visit);
+        return visitRepository.save(visit).flatMap(saved -> ownerCache.evictOwnersOfPet(saved.getPetId())
+            .thenReturn(saved));
+    }
+
+    @Override
+    public Mono<Visit> patchVisit(int visitId, Visit changes) {
+        return visitRepository.patch(visitId, changes).flatMap(patched -> ownerCache.evictOwnersOfPet(patched.getPetId())
+            .thenReturn(patched));
+    }
+
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager")
+    public Mono<Boolean> deleteVisit(int visitId) {
+        return visitRepository.deleteReturningPetId(visitId)
+            .flatMap(petId -> ownerCache.evictOwnersOfPet(petId).thenReturn(true))
+            .defaultIfEmpty(false);
     }
 
     @Override
-    @Transactional(transactionManager = "connectionFactoryTransactionManager", readOnly = true)
     public Mono<Owner> findOwnerById(int id) {
-        return ownerRepository.findById(id);
+        return ownerCache.get(id, ownerLookups::get);
     }
 
     @Override
@@ -73,10 +206,76 @@ public class ReactiveClinicServiceImpl implements ReactiveClinicService {
         return ownerRepository.findAll();
     }
 
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager", readOnly = true)
+    public Flux<Owner> findOwners(String lastName, int afterId, int limit) {
+        return ownerRepository.findPage(lastName, afterId, limit);
+    }
+
+    @Override
+    public Flux<Owner> streamOwners(String lastName) {
+        return streamByKeyset(afterId -> ownerRepository.findPage(lastName, afterId, streamChunkSize), Owner::getId);
+    }
+
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager", readOnly = true)
+    public Flux<Owner> exportOwners() {
+        return ownerRepository.exportAll(exportFetchSize);
+    }
+
+    @Override
+    public Mono<String> findOwnerJsonById(int id) {
+        return ownerJsonLookups.get(id);
+    }
+
     @Override
     @Transactional(transactionManager = "connectionFactoryTransactionManager")
     public Mono<Owner> saveOwner(Owner owner) {
-        return ownerRepository.save(owner);
+        return ownerRepository.save(owner).flatMap(saved -> ownerCache.evictOwner(saved.getId())
+            .thenReturn(saved));
+    }
+
+    /**
+     * Inserts the owner, then all pets with one statement, then all visits with one statement, and sets the
+     * generated ids on the given objects.
+     */
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager")
+    public Mono<Owner> registerOwner(Owner owner) {
+        List<Pet> pets = owner.getPets();
+        return ownerRepository.save(owner).flatMap(saved -> {
+            for (Pet pet : pets) {
+                pet.setOwner(saved);
+                pet.setOwnerId(saved.getId());
+            }
+            return insertAll(pets, petRepository::insertAll)
+                .then(Mono.defer(() -> {
+                    List<Visit> visits = new ArrayList<>();
+                    for (Pet pet : pets) {
+                        for (Visit visit : pet.getVisits()) {
+                            visit.setPet(pet);
+                            visit.setPetId(pet.getId());
+                            visits.add(visit);
+                        }
+                    }
+                    return insertAll(visits, visitRepository::insertAll);
+                }))
+                .then(ownerCache.evictOwner(saved.getId()))
+                .thenReturn(saved);
+        });
+    }
+
+    @Override
+    public Mono<Owner> patchOwner(int ownerId, Owner changes) {
+        return ownerRepository.patch(ownerId, changes).flatMap(patched -> ownerCache.evictOwner(patched.getId())
+            .thenReturn(patched));
+    }
+
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager")
+    public Mono<Boolean> deleteOwner(int ownerId) {
+        return ownerRepository.deleteWithPets(ownerId).flatMap(deleted -> ownerCache.evictOwner(ownerId)
+            .thenReturn(deleted));
     }
 
     @Override
@@ -86,26 +285,164 @@ public class ReactiveClinicServiceImpl implements ReactiveClinicService {
     }
 
     @Override
-    @Transactional(transactionManager = "connectionFactoryTransactionManager", readOnly = true)
+    public Flux<ImportBatch> importOwners(Flux<Owner> owners) {
+        return importInBatches(owners, ownerRepository::insertAll, batch -> Mono.empty());
+    }
+
+    @Override
+    public Flux<ImportBatch> importPets(Flux<Pet> pets) {
+        return importInBatches(pets, petRepository::insertAll, batch -> Flux.fromIterable(batch)
+            .map(Pet::getOwnerId).distinct().concatMap(ownerCache::evictOwner).then());
+    }
+
+    @Override
+    public Flux<ImportBatch> importVisits(Flux<Visit> visits) {
+        return importInBatches(visits, visitRepository::insertAll, batch -> Flux.fromIterable(batch)
+            .map(Visit::getPetId).distinct().concatMap(ownerCache::evictOwnersOfPet).then());
+    }
+
+    @Override
+    public Mono<PetType> findPetTypeById(int petTypeId) {
+        return petTypeRepository.findById(petTypeId);
+    }
+
+    @Override
     public Flux<PetType> findAllPetTypes() {
-        return null;
+        return petTypeRepository.findAll();
     }
 
     @Override
-    @Transactional(transactionManager = "connectionFactoryTransactionManager", readOnly = true)
     public Flux<PetType> findPetTypes() {
-        return null;
+        return petTypeRepository.findAll();
     }
 
     @Override
     @Transactional(transactionManager = "connectionFactoryTransactionManager")
     public Mono<PetType> savePetType(PetType petType) {
-        return null;
+        return petTypeRepository.save(petType).flatMap(saved -> ownerCache.evictAll()
+            .thenReturn(saved));
+    }
+
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager")
+    public Mono<Boolean> deletePetType(int petTypeId) {
+        return petTypeRepository.deleteWithPets(petTypeId).flatMap(deleted -> ownerCache.evictAll()
+            .thenReturn(deleted));
+    }
+
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager", readOnly = true)
+    public Mono<Vet> findVetById(int id) {
+        return vetRepository.findById(id);
+    }
+
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager", readOnly = true)
+    public Flux<Vet> findAllVets() {
+        return vetRepository.findAll();
+    }
+
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager")
+    public Mono<Vet> saveVet(Vet vet) {
+        return vetRepository.save(vet);
     }
 
     @Override
     @Transactional(transactionManager = "connectionFactoryTransactionManager")
-    public Mono<Void> deletePetType(PetType petType) {
+    public Mono<Void> deleteVet(Vet vet) {
+        return vetRepository.delete(vet);
+    }
+
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager", readOnly = true)
+    public Mono<Specialty> findSpecialtyById(int specialtyId) {
+        return specialtyRepository.findById(specialtyId);
+    }
+
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager", readOnly = true)
+    public Flux<Specialty> findAllSpecialties() {
+        return specialtyRepository.findAll();
+    }
+
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager")
+    public Mono<Specialty> saveSpecialty(Specialty specialty) {
+        return specialtyRepository.save(specialty);
+    }
+
+    @Override
+    @Transactional(transactionManager = "connectionFactoryTransactionManager")
+    public Mono<Void> deleteSpecialty(Specialty specialty) {
+        return specialtyRepository.delete(specialty);
+    }
+
+    /**
+     * Inserts items in batches of <code>importBatchSize</code>, each in its own transaction. The next batch is
+     * requested from the input only once the previous one is committed, so the request body is never buffered. A batch
+     * that fails validation or insertion is reported and skipped; the import carries on with the next one.
+     */
+    private <T> Flux<ImportBatch> importInBatches(Flux<T> items, Function<List<T>, Flux<Integer>> insert,
+                                                  Function<List<T>, Mono<Void>> afterInsert) {
+        return items.buffer(importBatchSize).index().concatMap(indexed -> {
+            int batch = (int) indexed.getT1().longValue() + 1;
+            List<T> rows = indexed.getT2();
+            String violation = firstViolation(rows, (batch - 1) * importBatchSize);
+            if (violation != null) {
+                return Mono.just(ImportBatch.failed(batch, violation));
+            }
+            return insert.apply(rows).collectList()
+                .flatMap(ids -> afterInsert.apply(rows).thenReturn(ids))
+                .as(transactionalOperator::transactional)
+                .map(ids -> ImportBatch.imported(batch, ids))
+                .onErrorResume(e ->
+                    Mono.just(ImportBatch.failed(batch, NestedExceptionUtils.getMostSpecificCause(e).getMessage())));
+        });
+    }
+
+    private static <T extends BaseEntity> Mono<Void> insertAll(List<T> entities,
+                                                               Function<List<T>, Flux<Integer>> insert) {
+        if (entities.isEmpty()) {
+            return Mono.empty();
+        }
+        // the ids are assigned by position: RETURNING yields the generated ids in the order of the VALUES rows
+        return insert.apply(entities).collectList().flatMap(ids -> {
+            if (ids.size() != entities.size()) {
+                return Mono.error(new IncorrectResultSizeDataAccessException(
+                    "Expected one generated id per inserted row", entities.size(), ids.size()));
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                entities.get(i).setId(ids.get(i));
+            }
+            return Mono.empty();
+        });
+    }
+
+    private <T> String firstViolation(List<T> rows, int offset) {
+        for (int i = 0; i < rows.size(); i++) {
+            Set<ConstraintViolation<T>> violations = validator.validate(rows.get(i));
+            if (!violations.isEmpty()) {
+                ConstraintViolation<T> violation = violations.iterator().next();
+                return "item " + (offset + i + 1) + ": " + violation.getPropertyPath() + " " + violation.getMessage();
+            }
+        }
         return null;
     }
+
+    /**
+     * Reads rows in keyset-ordered chunks. The next chunk is queried only once the previous one has been requested
+     * downstream, so a slow client holds neither a cursor nor a connection between chunks. Each chunk is read in its
+     * own read-only transaction: the stream as a whole is not a consistent snapshot.
+     */
+    private <T> Flux<T> streamByKeyset(IntFunction<Flux<T>> chunkAfter, ToIntFunction<T> id) {
+        IntFunction<Mono<List<T>>> chunk = afterId -> chunkAfter.apply(afterId).collectList()
+            .as(readOnlyTransactionalOperator::transactional);
+        return chunk.apply(0)
+            .expand(rows -> rows.size() < streamChunkSize
+                ? Mono.empty()
+                : chunk.apply(id.applyAsInt(rows.get(rows.size() - 1))))
+            .flatMapIterable(Function.identity(), 1);
+    }
+
 }
@@ -0,0 +1,32 @@
+package org.springframework.samples.petclinic.service;
+
+import org.springframework.samples.petclinic.model.Specialty;
+import org.springframework.samples.petclinic.model.Vet;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The vet and specialty operations, served either from R2DBC by {@link ReactiveClinicService} or from the blocking
+ * {@link ClinicService} by {@link BlockingServiceAdapter}, depending on the active profile.
+ *
+ * @see org.springframework.samples.petclinic.config.VetServiceConfig
+ */
+public interface ReactiveVetService {
+
+    Mono<Vet> findVetById(int id);
+
+    Flux<Vet> findAllVets();
+
+    Mono<Vet> saveVet(Vet vet);
+
+    Mono<Void> deleteVet(Vet vet);
+
+    Mono<Specialty> findSpecialtyById(int specialtyId);
+
+    Flux<Specialty> findAllSpecialties();
+
+    Mono<Specialty> saveSpecialty(Specialty specialty);
+
+    Mono<Void> deleteSpecialty(Specialty specialty);
+
+}
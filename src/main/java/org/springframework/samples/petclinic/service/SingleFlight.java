@@ -0,0 +1,64 @@
+package org.springframework.samples.petclinic.service;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent lookups by id: while a lookup is in flight, callers asking for the same id subscribe to it
+ * instead of running their own query. The entry is dropped as soon as the lookup terminates, so nothing is cached.
+ * <p>
+ * The shared lookup runs without the callers' context, so it never joins one caller's transaction, and it is not
+ * cancelled when one caller goes away. Each caller receives its own copy of the result.
+ */
+final class SingleFlight<V> {
+
+    private final Map<Integer, Flight<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final IntFunction<Mono<V>> loader;
+
+    private final UnaryOperator<V> copier;
+
+    private final LongSupplier epoch;
+
+    SingleFlight(IntFunction<Mono<V>> loader, UnaryOperator<V> copier) {
+        this(loader, copier, () -> 0);
+    }
+
+    /**
+     * @param epoch a lookup is only joined by callers that see the same epoch it was started in; advancing the epoch
+     *              on a write keeps later callers from receiving rows read before the write
+     */
+    SingleFlight(IntFunction<Mono<V>> loader, UnaryOperator<V> copier, LongSupplier epoch) {
+        this.loader = loader;
+        this.copier = copier;
+        this.epoch = epoch;
+    }
+
+    Mono<V> get(int id) {
+        return Mono.defer(() -> {
+            long current = epoch.getAsLong();
+            return inFlight.compute(id, (key, flight) ->
+                flight != null && flight.epoch() == current ? flight : start(key, current)).mono();
+        }).map(copier);
+    }
+
+    private Flight<V> start(int id, long epoch) {
+        var flight = new AtomicReference<Flight<V>>();
+        flight.set(new Flight<>(epoch, loader.apply(id)
+            .contextWrite(context -> Context.empty())
+            .doFinally(signal -> inFlight.remove(id, flight.get()))
+            .share()));
+        return flight.get();
+    }
+
+    private record Flight<V>(long epoch, Mono<V> mono) {
+    }
+
+}
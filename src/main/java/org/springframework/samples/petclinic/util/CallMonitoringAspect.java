@@ -15,19 +15,38 @@
  */
 package org.springframework.samples.petclinic.util;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.jmx.export.annotation.ManagedOperation;
 import org.springframework.jmx.export.annotation.ManagedResource;
-import org.springframework.util.StopWatch;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Simple aspect that monitors call count and call invocation time. It uses JMX annotations and therefore can be
- * monitored using any JMX console such as the jConsole
+ * Aspect that monitors the calls to the repositories: the blocking <code>@Repository</code> classes and the reactive
+ * Spring Data repositories. It keeps a call count, an error count and a latency histogram per repository method, and
+ * publishes them through Micrometer as the <code>petclinic.repository.call</code> timer, with its p50, p99 and p999,
+ * and through JMX as the <code>petclinic:type=CallMonitor</code> MBean.
  * <p/>
- * This is only useful if you use JPA or JDBC.  Spring-data-jpa doesn't have any correctly annotated classes to join on
+ * For a method returning a <code>Mono</code> or a <code>Flux</code>, the time measured runs from the subscription to
+ * the completion, error or cancellation, which is when the query actually runs; the call itself only assembles it.
  *
  * @author Rob Harrop
  * @author Juergen Hoeller
@@ -36,13 +55,20 @@ import org.springframework.util.StopWatch;
  */
 @ManagedResource("petclinic:type=CallMonitor")
 @Aspect
+@Component
 public class CallMonitoringAspect {
 
-    private boolean enabled = true;
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final MeterRegistry meterRegistry;
 
-    private int callCount = 0;
+    private final Map<CallSite, CallStatistics> statistics = new ConcurrentHashMap<>();
 
-    private long accumulatedCallTime = 0;
+    private volatile boolean enabled = true;
+
+    public CallMonitoringAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
     @ManagedAttribute
     public boolean isEnabled() {
@@ -54,44 +80,161 @@ public class CallMonitoringAspect {
         this.enabled = enabled;
     }
 
+    /**
+     * Clears the counts and histograms shown through JMX; the Micrometer timers are cumulative and keep theirs.
+     */
     @ManagedOperation
     public void reset() {
-        this.callCount = 0;
-        this.accumulatedCallTime = 0;
+        statistics.values().forEach(CallStatistics::reset);
     }
 
     @ManagedAttribute
-    public int getCallCount() {
-        return callCount;
+    public long getCallCount() {
+        return statistics.values().stream().mapToLong(s -> s.calls.sum()).sum();
     }
 
+    /**
+     * @return the average call time, in milliseconds
+     */
     @ManagedAttribute
     public long getCallTime() {
-        if (this.callCount > 0)
-            return this.accumulatedCallTime / this.callCount;
-        else
-            return 0;
+        long calls = getCallCount();
+        long nanos = statistics.values().stream().mapToLong(s -> s.totalNanos.sum()).sum();
+        return calls > 0 ? TimeUnit.NANOSECONDS.toMillis(nanos / calls) : 0;
     }
 
+    /**
+     * @return one line per repository method called: call and error counts, and latency percentiles in milliseconds
+     */
+    @ManagedAttribute
+    public String[] getMethodStatistics() {
+        return statistics.values().stream()
+            .sorted((left, right) -> left.name.compareTo(right.name))
+            .map(CallStatistics::toString)
+            .toArray(String[]::new);
+    }
 
-    @Around("within(@org.springframework.stereotype.Repository *)")
+    /**
+     * Matches the <code>@Repository</code> classes and the beans named <code>...Repository</code>, which are the
+     * Spring Data repositories, but not the factory beans that create those.
+     */
+    @Around("within(@org.springframework.stereotype.Repository *)"
+        + " || (bean(*Repository) && !target(org.springframework.beans.factory.FactoryBean))")
     public Object invoke(ProceedingJoinPoint joinPoint) throws Throwable {
-        if (this.enabled) {
-            StopWatch sw = new StopWatch(joinPoint.toShortString());
-
-            sw.start("invoke");
-            try {
-                return joinPoint.proceed();
-            } finally {
-                sw.stop();
-                synchronized (this) {
-                    this.callCount++;
-                    this.accumulatedCallTime += sw.getTotalTimeMillis();
-                }
-            }
-        } else {
+        if (!this.enabled) {
             return joinPoint.proceed();
         }
+        CallStatistics callStatistics = statisticsFor(joinPoint);
+        long startedAt = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            callStatistics.record(System.nanoTime() - startedAt, true);
+            throw e;
+        }
+        // recorded as the signal goes by rather than in doFinally, which runs once the subscriber has handled it
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                long subscribedAt = System.nanoTime();
+                return mono
+                    .doOnSuccess(value -> callStatistics.record(System.nanoTime() - subscribedAt, false))
+                    .doOnError(e -> callStatistics.record(System.nanoTime() - subscribedAt, true))
+                    .doOnCancel(() -> callStatistics.record(System.nanoTime() - subscribedAt, false));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long subscribedAt = System.nanoTime();
+                return flux
+                    .doOnComplete(() -> callStatistics.record(System.nanoTime() - subscribedAt, false))
+                    .doOnError(e -> callStatistics.record(System.nanoTime() - subscribedAt, true))
+                    .doOnCancel(() -> callStatistics.record(System.nanoTime() - subscribedAt, false));
+            });
+        }
+        callStatistics.record(System.nanoTime() - startedAt, false);
+        return result;
+    }
+
+    private CallStatistics statisticsFor(ProceedingJoinPoint joinPoint) {
+        CallSite callSite = new CallSite(joinPoint.getTarget().getClass(),
+            ((MethodSignature) joinPoint.getSignature()).getMethod());
+        CallStatistics callStatistics = statistics.get(callSite);
+        if (callStatistics == null) {
+            callStatistics = statistics.computeIfAbsent(callSite,
+                site -> newStatistics(repositoryName(joinPoint.getTarget()), site.method.getName()));
+        }
+        return callStatistics;
+    }
+
+    /**
+     * The repository interface for Spring Data repositories, which are JDK proxies; the class otherwise.
+     */
+    private static String repositoryName(Object target) {
+        Class<?> type = AopUtils.isJdkDynamicProxy(target)
+            ? AopProxyUtils.proxiedUserInterfaces(target)[0]
+            : ClassUtils.getUserClass(target);
+        return type.getSimpleName();
+    }
+
+    private CallStatistics newStatistics(String repository, String method) {
+        return new CallStatistics(repository + "." + method, Timer.builder("petclinic.repository.call")
+            .description("Time a repository method took, until its result was emitted for reactive repositories")
+            .tag("repository", repository)
+            .tag("method", method)
+            .publishPercentiles(0.5, 0.99, 0.999)
+            .register(meterRegistry));
+    }
+
+    private record CallSite(Class<?> targetClass, Method method) {
+    }
+
+    private static final class CallStatistics {
+
+        private final String name;
+
+        private final Timer timer;
+
+        private final LongAdder calls = new LongAdder();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 2);
+
+        CallStatistics(String name, Timer timer) {
+            this.name = name;
+            this.timer = timer;
+        }
+
+        void record(long nanos, boolean error) {
+            calls.increment();
+            totalNanos.add(nanos);
+            if (error) {
+                errors.increment();
+            }
+            latencies.recordValue(Math.min(nanos, HIGHEST_TRACKABLE_NANOS));
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        void reset() {
+            calls.reset();
+            errors.reset();
+            totalNanos.reset();
+            latencies.reset();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s calls=%d errors=%d p50=%.3fms p99=%.3fms p999=%.3fms max=%.3fms", name,
+                calls.sum(), errors.sum(), millis(50), millis(99), millis(99.9), latencies.getMaxValue() / 1e6);
+        }
+
+        private double millis(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1e6;
+        }
+
     }
 
 }
@@ -0,0 +1,12 @@
+--liquibase formatted sql
+
+-- The owner, pet and visit lookups filter pets by owner_id. visits.pet_id is already indexed by initDB.sql, and so
+-- is owners.last_name, which serves the last name prefix search as the column is VARCHAR_IGNORECASE.
+
+--changeset petclinic:002-pets-owner-id
+CREATE INDEX IF NOT EXISTS pets_owner_id ON pets (owner_id);
+--rollback DROP INDEX IF EXISTS pets_owner_id;
+
+--changeset petclinic:002-pets-type-id
+CREATE INDEX IF NOT EXISTS pets_type_id ON pets (type_id);
+--rollback DROP INDEX IF EXISTS pets_type_id;
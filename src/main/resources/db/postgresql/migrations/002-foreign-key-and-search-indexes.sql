@@ -0,0 +1,23 @@
+--liquibase formatted sql
+
+-- The owner, pet and visit lookups filter pets by owner_id and correlate visits on pet_id; without these indexes
+-- both are sequential scans. The pet and visit indexes carry the columns those queries read, so they are answered
+-- from the index alone. Built concurrently so that existing tables stay writable meanwhile.
+
+--changeset petclinic:002-pets-owner-id runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pets_owner_id ON pets (owner_id) INCLUDE (id, name, birth_date, type_id);
+--rollback DROP INDEX CONCURRENTLY IF EXISTS idx_pets_owner_id;
+
+--changeset petclinic:002-pets-type-id runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pets_type_id ON pets (type_id);
+--rollback DROP INDEX CONCURRENTLY IF EXISTS idx_pets_type_id;
+
+--changeset petclinic:002-visits-pet-id runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_visits_pet_id ON visits (pet_id, visit_date) INCLUDE (id, description);
+--rollback DROP INDEX CONCURRENTLY IF EXISTS idx_visits_pet_id;
+
+-- findOwnersByLastNameStartsWith runs last_name LIKE 'prefix%', which the default index on last_name cannot serve
+-- unless the database collation is C.
+--changeset petclinic:002-owners-last-name-pattern runInTransaction:false
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_owners_last_name_pattern ON owners (last_name text_pattern_ops);
+--rollback DROP INDEX CONCURRENTLY IF EXISTS idx_owners_last_name_pattern;
@@ -0,0 +1,67 @@
+package org.springframework.samples.petclinic.dataset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link ZipfDistribution}
+ */
+class ZipfDistributionTests {
+
+    @Test
+    void shouldFavourLowRanks() {
+        var distribution = new ZipfDistribution(100, 1.0);
+        var random = new SplittableRandom(1);
+        int[] counts = new int[101];
+        for (int i = 0; i < 100_000; i++) {
+            counts[distribution.sample(random)]++;
+        }
+
+        assertThat(counts[0]).isZero();
+        // P(1) = 1 / H(100) ~ 0.19, and rank 1 is drawn about twice as often as rank 2
+        assertThat(counts[1]).isBetween(18_000, 21_000);
+        assertThat((double) counts[1] / counts[2]).isBetween(1.8, 2.2);
+        assertThat(counts[100]).isPositive();
+    }
+
+    @Test
+    void shouldReproduceSamplesForTheSameSeed() {
+        var distribution = new ZipfDistribution(300, 2.0);
+        var first = new SplittableRandom(42);
+        var second = new SplittableRandom(42);
+
+        IntStream.range(0, 1000).forEach(i -> assertThat(distribution.sample(first)).isEqualTo(distribution.sample(second)));
+    }
+
+    @Test
+    void shouldComputeMean() {
+        assertThat(new ZipfDistribution(1, 2.0).mean()).isEqualTo(1.0);
+        assertThat(new ZipfDistribution(2, 0.0).mean()).isEqualTo(1.5);
+    }
+
+    @Test
+    void shouldRejectEmptyRange() {
+        assertThatThrownBy(() -> new ZipfDistribution(0, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldGenerateDistinctLastNames() {
+        Set<String> names = new HashSet<>();
+        for (int rank = 1; rank <= 20_000; rank++) {
+            String name = DatasetGenerator.lastName(rank);
+            assertThat(name.length()).isLessThanOrEqualTo(30);
+            names.add(name);
+        }
+
+        assertThat(names).hasSize(20_000);
+        assertThat(DatasetGenerator.lastName(1)).isEqualTo("Smith");
+    }
+
+}
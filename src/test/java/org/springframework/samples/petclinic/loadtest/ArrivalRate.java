@@ -0,0 +1,102 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Open-model arrival rate: iterations start on a fixed schedule whether or not earlier ones have finished, so a slow
+ * server shows up as latency rather than as fewer requests. Like k6's <code>ramping-arrival-rate</code> executor, the
+ * rate moves linearly from the target of one stage to the target of the next, starting from <code>startRate</code>.
+ */
+final class ArrivalRate {
+
+    private final double startRate;
+
+    private final List<Stage> stages;
+
+    ArrivalRate(double startRate, List<Stage> stages) {
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("At least one stage is required");
+        }
+        this.startRate = startRate;
+        this.stages = stages;
+    }
+
+    /**
+     * @param stages comma-separated <code>target/duration</code> pairs, e.g. <code>50/10s,50/1m</code> to ramp up to
+     *               50 iterations per second over 10 seconds and then hold that rate for a minute
+     */
+    static ArrivalRate parse(double startRate, String stages) {
+        return new ArrivalRate(startRate, Arrays.stream(stages.split(","))
+            .map(String::trim)
+            .map(stage -> {
+                String[] parts = stage.split("/");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Expected target/duration, was " + stage);
+                }
+                return new Stage(Double.parseDouble(parts[0]), DurationStyle.detectAndParse(parts[1]));
+            })
+            .toList());
+    }
+
+    Duration duration() {
+        return stages.stream().map(Stage::duration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    long iterations() {
+        double count = 0;
+        double from = startRate;
+        for (Stage stage : stages) {
+            count += (from + stage.target) / 2 * seconds(stage.duration);
+            from = stage.target;
+        }
+        return (long) count;
+    }
+
+    /**
+     * Offered load, in iterations per second, averaged over the whole schedule.
+     */
+    double meanRate() {
+        return iterations() / seconds(duration());
+    }
+
+    /**
+     * When the given iteration starts, relative to the start of the run: the time at which the number of iterations
+     * started so far, the integral of the rate, reaches <code>iteration</code>.
+     */
+    long startNanos(long iteration) {
+        double remaining = iteration;
+        double offset = 0;
+        double from = startRate;
+        for (Stage stage : stages) {
+            double length = seconds(stage.duration);
+            double count = (from + stage.target) / 2 * length;
+            if (remaining < count) {
+                // solve from * t + (target - from) / (2 * length) * t^2 = remaining for t
+                double acceleration = (stage.target - from) / (2 * length);
+                double t = Math.abs(acceleration) < 1e-12
+                    ? remaining / from
+                    : (-from + Math.sqrt(Math.max(0, from * from + 4 * acceleration * remaining))) / (2 * acceleration);
+                return (long) ((offset + t) * 1e9);
+            }
+            remaining -= count;
+            offset += length;
+            from = stage.target;
+        }
+        throw new IllegalArgumentException("The schedule has only " + iterations() + " iterations, not " + iteration);
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1e9;
+    }
+
+    /**
+     * @param target rate, in iterations per second, at the end of the stage
+     */
+    record Stage(double target, Duration duration) {
+    }
+
+}
@@ -0,0 +1,65 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Test class for {@link ArrivalRate}
+ */
+class ArrivalRateTests {
+
+    @Test
+    void shouldStartIterationsEvenlyAtConstantRate() {
+        ArrivalRate arrivalRate = ArrivalRate.parse(10, "10/2s");
+
+        assertThat(arrivalRate.iterations()).isEqualTo(20);
+        assertThat(arrivalRate.duration()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(arrivalRate.startNanos(0)).isZero();
+        assertThat(arrivalRate.startNanos(10)).isCloseTo(1_000_000_000L, within(1000L));
+        assertThat(arrivalRate.startNanos(19)).isCloseTo(1_900_000_000L, within(1000L));
+    }
+
+    @Test
+    void shouldRampRateLinearly() {
+        // 0 to 10 iterations/s over 2 s: 10 iterations, the n-th starting when 2.5 * t^2 = n
+        ArrivalRate arrivalRate = ArrivalRate.parse(0, "10/2s");
+
+        assertThat(arrivalRate.iterations()).isEqualTo(10);
+        assertThat(arrivalRate.startNanos(5)).isCloseTo(1_414_213_562L, within(1000L));
+        assertThat(arrivalRate.meanRate()).isEqualTo(5.0);
+    }
+
+    @Test
+    void shouldContinueFromPreviousStage() {
+        // 5 iterations while ramping up, 10 while holding, 5 while ramping down
+        ArrivalRate arrivalRate = ArrivalRate.parse(0, "10/1s, 10/1s, 0/1s");
+
+        assertThat(arrivalRate.iterations()).isEqualTo(20);
+        assertThat(arrivalRate.startNanos(5)).isCloseTo(1_000_000_000L, within(1000L));
+        assertThat(arrivalRate.startNanos(10)).isCloseTo(1_500_000_000L, within(1000L));
+        // 10 * t - 5 * t^2 = 2 into the ramp down
+        assertThat(arrivalRate.startNanos(17)).isCloseTo(2_225_403_331L, within(1000L));
+    }
+
+    @Test
+    void shouldRejectIterationBeyondSchedule() {
+        ArrivalRate arrivalRate = ArrivalRate.parse(10, "10/1s");
+
+        assertThatThrownBy(() -> arrivalRate.startNanos(10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ArrivalRate.parse(10, "10")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldNameIterationsLikeSpreadsheetColumns() {
+        assertThat(PetClinicScenario.columnName(0)).isEqualTo("a");
+        assertThat(PetClinicScenario.columnName(25)).isEqualTo("z");
+        assertThat(PetClinicScenario.columnName(26)).isEqualTo("aa");
+        assertThat(PetClinicScenario.columnName(27 * 26)).isEqualTo("aaa");
+    }
+
+}
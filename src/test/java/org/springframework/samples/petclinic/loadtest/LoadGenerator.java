@@ -0,0 +1,90 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts {@link PetClinicScenario} iterations at the times given by an {@link ArrivalRate}, without waiting for the
+ * previous ones to finish. At most <code>maxInFlight</code> iterations run at once, like k6's <code>maxVUs</code>:
+ * an iteration due while that many are still running is dropped, and counted as such.
+ */
+final class LoadGenerator implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    private final ConnectionProvider connectionProvider;
+
+    private final PetClinicScenario scenario;
+
+    private final int maxInFlight;
+
+    /**
+     * @param baseUrl URL of the REST API, e.g. <code>http://localhost:9966/petclinic/api</code>
+     */
+    LoadGenerator(String baseUrl, ObjectMapper objectMapper, int maxInFlight) {
+        this.connectionProvider = ConnectionProvider.builder("load-test")
+            .maxConnections(maxInFlight)
+            .pendingAcquireMaxCount(-1)
+            .build();
+        HttpClient client = HttpClient.create(connectionProvider)
+            .baseUrl(baseUrl)
+            .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON))
+            .responseTimeout(REQUEST_TIMEOUT);
+        this.scenario = new PetClinicScenario(client, objectMapper);
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Runs the schedule on the calling thread, then waits up to <code>gracePeriod</code> for the iterations still
+     * running; those that have not finished by then are neither counted as completed nor as failed.
+     */
+    LoadStatistics run(ArrivalRate arrivalRate, Duration gracePeriod) throws InterruptedException {
+        LoadStatistics statistics = new LoadStatistics();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicBoolean failureLogged = new AtomicBoolean();
+        long iterations = arrivalRate.iterations();
+        long startedAt = System.nanoTime();
+        for (long iteration = 0; iteration < iterations; iteration++) {
+            long scheduledAt = startedAt + arrivalRate.startNanos(iteration);
+            for (long delay = scheduledAt - System.nanoTime(); delay > 0; delay = scheduledAt - System.nanoTime()) {
+                LockSupport.parkNanos(delay);
+            }
+            if (!inFlight.tryAcquire()) {
+                statistics.recordDroppedIteration();
+                continue;
+            }
+            scenario.run(iteration, statistics)
+                .doFinally(signal -> inFlight.release())
+                .subscribe(null, e -> {
+                    statistics.recordError(Operation.ITERATION);
+                    if (failureLogged.compareAndSet(false, true)) {
+                        logger.warn("First failed iteration; later failures are only counted", e);
+                    }
+                }, () -> statistics.recordSuccess(Operation.ITERATION, System.nanoTime() - scheduledAt));
+        }
+        if (!inFlight.tryAcquire(maxInFlight, gracePeriod.toNanos(), TimeUnit.NANOSECONDS)) {
+            logger.warn("{} iterations still running after the grace period", maxInFlight - inFlight.availablePermits());
+        }
+        statistics.recordElapsed(System.nanoTime() - startedAt);
+        return statistics;
+    }
+
+    @Override
+    public void close() {
+        connectionProvider.dispose();
+    }
+
+}
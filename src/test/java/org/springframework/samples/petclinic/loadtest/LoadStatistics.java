@@ -0,0 +1,88 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and error counts per {@link Operation}, recorded concurrently by the iterations of a run. Latencies are
+ * kept in microseconds with three significant digits, up to a minute.
+ */
+final class LoadStatistics {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    private final LongAdder droppedIterations = new LongAdder();
+
+    private volatile long elapsedNanos;
+
+    LoadStatistics() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void recordSuccess(Operation operation, long nanos) {
+        latencies.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    void recordError(Operation operation) {
+        errors.get(operation).increment();
+    }
+
+    void recordDroppedIteration() {
+        droppedIterations.increment();
+    }
+
+    void recordElapsed(long nanos) {
+        elapsedNanos = nanos;
+    }
+
+    long count(Operation operation) {
+        return latencies.get(operation).getTotalCount();
+    }
+
+    long errors(Operation operation) {
+        return errors.get(operation).sum();
+    }
+
+    long droppedIterations() {
+        return droppedIterations.sum();
+    }
+
+    Duration p99(Operation operation) {
+        return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(latencies.get(operation).getValueAtPercentile(99)));
+    }
+
+    /**
+     * Iterations completed without error per second of the run.
+     */
+    double throughput() {
+        return elapsedNanos == 0 ? 0 : count(Operation.ITERATION) / (elapsedNanos / 1e9);
+    }
+
+    String summary() {
+        StringBuilder summary = new StringBuilder(String.format("%-36s %8s %7s %9s %9s %9s %9s%n",
+            "operation", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        latencies.forEach((operation, histogram) -> summary.append(String.format("%-36s %8d %7d %9.2f %9.2f %9.2f %9.2f%n",
+            operation.label(), histogram.getTotalCount(), errors(operation), millis(histogram, 50),
+            millis(histogram, 90), millis(histogram, 99), histogram.getMaxValue() / 1000.0)));
+        return summary.append(String.format("%.1f iterations/s over %.1f s, %d dropped%n",
+            throughput(), elapsedNanos / 1e9, droppedIterations())).toString();
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+}
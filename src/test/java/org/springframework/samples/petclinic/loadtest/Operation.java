@@ -0,0 +1,33 @@
+package org.springframework.samples.petclinic.loadtest;
+
+/**
+ * The requests of one {@link PetClinicScenario} iteration, in the order they are sent, and the iteration as a whole.
+ */
+enum Operation {
+
+    ADD_OWNER("POST /owners"),
+    ADD_PET("POST /owners/{id}/pets"),
+    ADD_VISIT("POST /owners/{id}/pets/{id}/visits"),
+    GET_OWNER("GET /owners/{id}"),
+    GET_PET("GET /pets/{id}"),
+    GET_VISIT("GET /visits/{id}"),
+    FIND_OWNERS("GET /owners?lastName="),
+    UPDATE_PET("PUT /pets/{id}"),
+    UPDATE_VISIT("PUT /visits/{id}"),
+    UPDATE_OWNER("PUT /owners/{id}"),
+    /**
+     * Measured from the time the iteration was scheduled to start, so it includes any delay in starting it.
+     */
+    ITERATION("iteration");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+}
@@ -0,0 +1,95 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test of the application started on embedded H2, replacing the k6 run of <code>script.js</code>: replays its
+ * flow at an open-model arrival rate and fails if the run misses its service level objectives. Tagged
+ * <code>load</code>, so that it only runs with the <code>load-test</code> Maven profile:
+ * <pre>
+ * ./mvnw test -Pload-test -Dloadtest.stages=10/20s,100/1m,100/2m -Dloadtest.slo.request-p99=50ms
+ * </pre>
+ * Each stage is a target rate, in iterations per second, reached linearly over the stage's duration. A warm-up
+ * schedule runs first, so that the measured run starts with compiled code and filled connection pools; its results
+ * are discarded.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.webflux.base-path=/petclinic"
+})
+@ActiveProfiles({"h2", "jdbc"})
+class PetClinicLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PetClinicLoadTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.warm-up-stages:10/30s}")
+    private String warmUpStages;
+
+    @Value("${loadtest.start-rate:1}")
+    private double startRate;
+
+    @Value("${loadtest.stages:10/10s,10/50s}")
+    private String stages;
+
+    @Value("${loadtest.max-in-flight:1000}")
+    private int maxInFlight;
+
+    @Value("${loadtest.grace-period:10s}")
+    private Duration gracePeriod;
+
+    @Value("${loadtest.slo.request-p99:250ms}")
+    private Duration requestP99;
+
+    @Value("${loadtest.slo.iteration-p99:1s}")
+    private Duration iterationP99;
+
+    /**
+     * Throughput required, as a fraction of the mean rate the schedule offers.
+     */
+    @Value("${loadtest.slo.min-throughput-ratio:0.95}")
+    private double minThroughputRatio;
+
+    @Value("${loadtest.slo.max-error-rate:0}")
+    private double maxErrorRate;
+
+    @Test
+    void shouldMeetServiceLevelObjectives() throws InterruptedException {
+        ArrivalRate arrivalRate = ArrivalRate.parse(startRate, stages);
+        ServiceLevelObjectives objectives = new ServiceLevelObjectives(requestP99, iterationP99,
+            arrivalRate.meanRate() * minThroughputRatio, maxErrorRate);
+
+        LoadStatistics statistics;
+        try (LoadGenerator generator = new LoadGenerator("http://localhost:" + port + "/petclinic/api", objectMapper,
+            maxInFlight)) {
+            if (!warmUpStages.isBlank()) {
+                logger.info("Warming up with {}", warmUpStages);
+                generator.run(ArrivalRate.parse(startRate, warmUpStages), gracePeriod);
+            }
+            logger.info("Running {} iterations over {} s", arrivalRate.iterations(), arrivalRate.duration().toSeconds());
+            statistics = generator.run(arrivalRate, gracePeriod);
+        }
+        logger.info("Load test results:\n{}", statistics.summary());
+
+        assertThat(objectives.violations(statistics)).as("service level objectives missed").isEmpty();
+    }
+
+}
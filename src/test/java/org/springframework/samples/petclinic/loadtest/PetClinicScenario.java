@@ -0,0 +1,120 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.springframework.samples.petclinic.rest.dto.OwnerDto;
+import org.springframework.samples.petclinic.rest.dto.OwnerFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.PetDto;
+import org.springframework.samples.petclinic.rest.dto.PetFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.PetTypeDto;
+import org.springframework.samples.petclinic.rest.dto.VisitDto;
+import org.springframework.samples.petclinic.rest.dto.VisitFieldsDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufMono;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.CREATED;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+
+/**
+ * One iteration of the load test, the same flow as <code>script.js</code>: adds an owner, a pet and a visit, reads
+ * each of them back, finds the owner by last name, then updates all three. Each request is timed separately; a
+ * request that fails, or answers with another status than expected, ends the iteration with an error.
+ */
+final class PetClinicScenario {
+
+    private static final PetTypeDto CAT = new PetTypeDto().id(1).name("cat");
+
+    private static final LocalDate DATE = LocalDate.of(2023, 3, 3);
+
+    private final HttpClient client;
+
+    private final ObjectMapper objectMapper;
+
+    PetClinicScenario(HttpClient client, ObjectMapper objectMapper) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+    }
+
+    Mono<Void> run(long iteration, LoadStatistics statistics) {
+        String lastName = "Last" + columnName(iteration) + "name";
+        OwnerFieldsDto owner = new OwnerFieldsDto().firstName("George").lastName(lastName)
+            .address("110 W. Liberty St.").city("Madison").telephone("6085551023");
+        PetFieldsDto pet = new PetFieldsDto().name("Leo").birthDate(DATE).type(CAT);
+        VisitFieldsDto visit = new VisitFieldsDto().date(DATE).description("rabies shot");
+        return send(statistics, Operation.ADD_OWNER, HttpMethod.POST, "/owners", owner, CREATED)
+            .map(body -> read(body, OwnerDto.class).getId())
+            .flatMap(ownerId -> send(statistics, Operation.ADD_PET, HttpMethod.POST, "/owners/" + ownerId + "/pets",
+                pet, CREATED)
+                .map(body -> read(body, PetDto.class).getId())
+                .flatMap(petId -> send(statistics, Operation.ADD_VISIT, HttpMethod.POST,
+                    "/owners/" + ownerId + "/pets/" + petId + "/visits", visit, CREATED)
+                    .map(body -> read(body, VisitDto.class).getId())
+                    .flatMap(visitId -> Flux.concat(
+                        send(statistics, Operation.GET_OWNER, HttpMethod.GET, "/owners/" + ownerId, null, OK),
+                        send(statistics, Operation.GET_PET, HttpMethod.GET, "/pets/" + petId, null, OK),
+                        send(statistics, Operation.GET_VISIT, HttpMethod.GET, "/visits/" + visitId, null, OK),
+                        send(statistics, Operation.FIND_OWNERS, HttpMethod.GET, "/owners?lastName=" + lastName, null,
+                            OK),
+                        send(statistics, Operation.UPDATE_PET, HttpMethod.PUT, "/pets/" + petId,
+                            pet.name("Leopold"), OK),
+                        send(statistics, Operation.UPDATE_VISIT, HttpMethod.PUT, "/visits/" + visitId,
+                            visit.date(DATE.plusDays(1)), OK),
+                        send(statistics, Operation.UPDATE_OWNER, HttpMethod.PUT, "/owners/" + ownerId,
+                            owner.telephone("6085551024"), OK)
+                    ).then())));
+    }
+
+    /**
+     * Sends one request, serializing the body when subscribed to, and records how long it took to receive the whole
+     * response.
+     */
+    private Mono<byte[]> send(LoadStatistics statistics, Operation operation, HttpMethod method, String uri,
+                              Object body, HttpResponseStatus expectedStatus) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            HttpClient.RequestSender request = client.request(method).uri(uri);
+            HttpClient.ResponseReceiver<?> receiver = body == null ? request
+                : request.send(ByteBufMono.fromString(Mono.fromCallable(() -> objectMapper.writeValueAsString(body))));
+            return receiver.responseSingle((response, content) -> content.asByteArray()
+                    .defaultIfEmpty(new byte[0])
+                    .map(bytes -> {
+                        if (!response.status().equals(expectedStatus)) {
+                            throw new IllegalStateException(operation.label() + " answered " + response.status()
+                                + ": " + new String(bytes, StandardCharsets.UTF_8));
+                        }
+                        return bytes;
+                    }))
+                .doOnSuccess(bytes -> statistics.recordSuccess(operation, System.nanoTime() - startedAt))
+                .doOnError(e -> statistics.recordError(operation));
+        });
+    }
+
+    private <T> T read(byte[] body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Spreadsheet-style column name, <code>a</code> to <code>z</code>, then <code>aa</code> and so on, so that every
+     * iteration adds an owner with a last name of its own.
+     */
+    static String columnName(long n) {
+        StringBuilder name = new StringBuilder();
+        for (long remaining = n; remaining >= 0; remaining = remaining / 26 - 1) {
+            name.insert(0, (char) ('a' + remaining % 26));
+        }
+        return name.toString();
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thresholds a load test run must meet.
+ *
+ * @param requestP99    99th percentile latency allowed for each request of the scenario
+ * @param iterationP99  99th percentile latency allowed for a whole iteration, from its scheduled start
+ * @param minThroughput iterations per second that must complete without error
+ * @param maxErrorRate  fraction of the requests allowed to fail, with an unexpected status or a timeout
+ */
+record ServiceLevelObjectives(Duration requestP99, Duration iterationP99, double minThroughput, double maxErrorRate) {
+
+    /**
+     * @return one message per threshold missed; empty if the run met all of them
+     */
+    List<String> violations(LoadStatistics statistics) {
+        List<String> violations = new ArrayList<>();
+        long requests = 0;
+        long errors = 0;
+        for (Operation operation : Operation.values()) {
+            Duration limit = operation == Operation.ITERATION ? iterationP99 : requestP99;
+            Duration p99 = statistics.p99(operation);
+            if (p99.compareTo(limit) > 0) {
+                violations.add(String.format("p99 of %s is %d ms, above %d ms",
+                    operation.label(), p99.toMillis(), limit.toMillis()));
+            }
+            if (operation != Operation.ITERATION) {
+                requests += statistics.count(operation) + statistics.errors(operation);
+                errors += statistics.errors(operation);
+            }
+        }
+        if (statistics.throughput() < minThroughput) {
+            violations.add(String.format("throughput is %.1f iterations/s, below %.1f",
+                statistics.throughput(), minThroughput));
+        }
+        double errorRate = requests == 0 ? 0 : (double) errors / requests;
+        if (errorRate > maxErrorRate) {
+            violations.add(String.format("%d of %d requests failed (%.2f%%), above %.2f%%",
+                errors, requests, errorRate * 100, maxErrorRate * 100));
+        }
+        return violations;
+    }
+
+}
@@ -0,0 +1,46 @@
+package org.springframework.samples.petclinic.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link Owner}
+ */
+class OwnerTests {
+
+    @Test
+    void shouldSortPetsByNameIgnoringCase() {
+        Owner owner = new Owner();
+        owner.addPet(pet("max"));
+        owner.addPet(pet(null));
+        owner.addPet(pet("Basil"));
+        owner.addPet(pet("Leo"));
+
+        assertThat(owner.getPets()).extracting(Pet::getName).containsExactly("Basil", "Leo", "max", null);
+    }
+
+    @Test
+    void shouldReturnTheSameListUntilPetsChange() {
+        Owner owner = new Owner();
+        owner.setPets(List.of(pet("Leo"), pet("Basil")));
+        List<Pet> pets = owner.getPets();
+
+        assertThat(owner.getPets()).isSameAs(pets);
+
+        owner.addPet(pet("Anna"));
+        assertThat(owner.getPets()).isNotSameAs(pets).extracting(Pet::getName).containsExactly("Anna", "Basil", "Leo");
+
+        owner.setPets(List.of(pet("Rosy")));
+        assertThat(owner.getPets()).extracting(Pet::getName).containsExactly("Rosy");
+    }
+
+    private static Pet pet(String name) {
+        Pet pet = new Pet();
+        pet.setName(name);
+        return pet;
+    }
+
+}
@@ -0,0 +1,46 @@
+package org.springframework.samples.petclinic.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link Pet}
+ */
+class PetTests {
+
+    @Test
+    void shouldSortVisitsMostRecentFirst() {
+        Pet pet = new Pet();
+        pet.addVisit(visit(LocalDate.of(2013, 1, 2)));
+        pet.addVisit(visit(LocalDate.of(2013, 1, 4)));
+        pet.addVisit(visit(null));
+        pet.addVisit(visit(LocalDate.of(2013, 1, 1)));
+
+        assertThat(pet.getVisits()).extracting(Visit::getDate)
+            .containsExactly(null, LocalDate.of(2013, 1, 4), LocalDate.of(2013, 1, 2), LocalDate.of(2013, 1, 1));
+    }
+
+    @Test
+    void shouldReturnTheSameListUntilVisitsChange() {
+        Pet pet = new Pet();
+        pet.setVisits(List.of(visit(LocalDate.of(2013, 1, 1))));
+        List<Visit> visits = pet.getVisits();
+
+        assertThat(pet.getVisits()).isSameAs(visits);
+
+        pet.addVisit(visit(LocalDate.of(2013, 1, 3)));
+        assertThat(pet.getVisits()).isNotSameAs(visits).extracting(Visit::getDate)
+            .containsExactly(LocalDate.of(2013, 1, 3), LocalDate.of(2013, 1, 1));
+    }
+
+    private static Visit visit(LocalDate date) {
+        Visit visit = new Visit();
+        visit.setDate(date);
+        return visit;
+    }
+
+}
@@ -0,0 +1,49 @@
+package org.springframework.samples.petclinic.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link Vet}
+ */
+class VetTests {
+
+    @Test
+    void shouldSortSpecialtiesByNameIgnoringCase() {
+        Vet vet = new Vet();
+        vet.addSpecialty(specialty(1, "surgery"));
+        vet.addSpecialty(specialty(2, null));
+        vet.addSpecialty(specialty(3, "Dentistry"));
+        vet.addSpecialty(specialty(4, "radiology"));
+
+        assertThat(vet.getSpecialties()).extracting(Specialty::getName)
+            .containsExactly("Dentistry", "radiology", "surgery", null);
+    }
+
+    @Test
+    void shouldReturnTheSameListUntilSpecialtiesChange() {
+        Vet vet = new Vet();
+        vet.setSpecialties(List.of(specialty(1, "surgery"), specialty(2, "dentistry")));
+        List<Specialty> specialties = vet.getSpecialties();
+
+        assertThat(vet.getSpecialties()).isSameAs(specialties);
+
+        vet.addSpecialty(specialty(3, "radiology"));
+        specialties = vet.getSpecialties();
+        assertThat(specialties).extracting(Specialty::getName).containsExactly("dentistry", "radiology", "surgery");
+
+        vet.clearSpecialties();
+        assertThat(vet.getSpecialties()).isNotSameAs(specialties).isEmpty();
+    }
+
+    private static Specialty specialty(int id, String name) {
+        Specialty specialty = new Specialty();
+        specialty.setId(id);
+        specialty.setName(name);
+        return specialty;
+    }
+
+}
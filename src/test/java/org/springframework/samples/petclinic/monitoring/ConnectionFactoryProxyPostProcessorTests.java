@@ -0,0 +1,88 @@
+package org.springframework.samples.petclinic.monitoring;
+
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.samples.petclinic.monitoring.ConnectionFactoryProxyPostProcessor.CONNECTION_FACTORY;
+
+/**
+ * Test class for {@link ConnectionFactoryProxyPostProcessor}
+ */
+class ConnectionFactoryProxyPostProcessorTests {
+
+    private final ConnectionFactoryProxyPostProcessor monitoring =
+        new ConnectionFactoryProxyPostProcessor(() -> new ProxyExecutionListener() {
+        });
+
+    private final ConnectionFactoryProxyPostProcessor counting =
+        new ConnectionFactoryProxyPostProcessor(() -> new ProxyExecutionListener() {
+        });
+
+    private final Pool pool = new Pool();
+
+    @Test
+    void shouldWrapOnlyTheConnectionFactoryBean() {
+        assertThat(monitoring.postProcessAfterInitialization(pool, "otherConnectionFactory")).isSameAs(pool);
+
+        Object proxy = monitoring.postProcessAfterInitialization(pool, CONNECTION_FACTORY);
+
+        assertThat(proxy).isNotSameAs(pool).isInstanceOf(ConnectionFactory.class);
+        assertThat(((Wrapped<?>) proxy).unwrap()).isSameAs(pool);
+    }
+
+    @Test
+    void shouldDisposePoolBehindProxiesOnce() {
+        Object proxy = counting.postProcessAfterInitialization(
+            monitoring.postProcessAfterInitialization(pool, CONNECTION_FACTORY), CONNECTION_FACTORY);
+
+        assertThat(monitoring.requiresDestruction(proxy)).isTrue();
+        monitoring.postProcessBeforeDestruction(proxy, CONNECTION_FACTORY);
+        counting.postProcessBeforeDestruction(proxy, CONNECTION_FACTORY);
+
+        assertThat(pool.disposals).hasValue(1);
+    }
+
+    @Test
+    void shouldLeaveOtherBeansToTheirOwnDestroyMethods() {
+        monitoring.postProcessBeforeDestruction(pool, "otherConnectionFactory");
+
+        assertThat(pool.disposals).hasValue(0);
+    }
+
+    private static final class Pool implements ConnectionFactory, Disposable {
+
+        private final AtomicInteger disposals = new AtomicInteger();
+
+        @Override
+        public Publisher<? extends Connection> create() {
+            return Mono.empty();
+        }
+
+        @Override
+        public ConnectionFactoryMetadata getMetadata() {
+            return () -> "pool";
+        }
+
+        @Override
+        public void dispose() {
+            disposals.incrementAndGet();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposals.get() > 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.springframework.samples.petclinic.monitoring;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * JDBC <code>DataSource</code> whose connections report each statement execution to a {@link StatementCounter}: one
+ * statement and round trip per <code>execute...</code> call, and as many statements as were added for a batch.
+ */
+final class CountingDataSource {
+
+    private CountingDataSource() {
+    }
+
+    static DataSource wrap(DataSource dataSource, StatementCounter counter) {
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? wrap(connection, counter) : result;
+        });
+    }
+
+    private static Connection wrap(Connection connection, StatementCounter counter) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                return proxy(method.getReturnType(), statement, new StatementHandler(counter));
+            }
+            return result;
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, TargetHandler handler) {
+        return type.cast(Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> handler.invoke(target, method, args)));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface TargetHandler {
+
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+
+    }
+
+    private static final class StatementHandler implements TargetHandler {
+
+        private final StatementCounter counter;
+
+        private int batched;
+
+        StatementHandler(StatementCounter counter) {
+            this.counter = counter;
+        }
+
+        @Override
+        public Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            Object result = CountingDataSource.invoke(target, method, args);
+            switch (name) {
+                case "addBatch" -> batched++;
+                case "clearBatch" -> batched = 0;
+                case "executeBatch", "executeLargeBatch" -> {
+                    counter.record(batched);
+                    batched = 0;
+                }
+                default -> {
+                    if (name.startsWith("execute")) {
+                        counter.record(1);
+                    }
+                }
+            }
+            return result;
+        }
+
+    }
+
+}
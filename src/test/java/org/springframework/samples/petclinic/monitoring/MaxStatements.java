@@ -0,0 +1,22 @@
+package org.springframework.samples.petclinic.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The most SQL statements, and round trips to the database, a test method may cause. Checked by
+ * {@link StatementCountExtension}, which requires it on every test method of the classes it extends.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface MaxStatements {
+
+    int statements();
+
+    int roundTrips();
+
+}
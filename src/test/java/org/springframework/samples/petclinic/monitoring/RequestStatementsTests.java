@@ -0,0 +1,50 @@
+package org.springframework.samples.petclinic.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Test class for {@link RequestStatements}
+ */
+class RequestStatementsTests {
+
+    @Test
+    void shouldGiveTheSameShapeToTheSameQueryWithOtherValues() {
+        assertThat(RequestStatements.shape("SELECT * FROM pets\n  WHERE owner_id = $1"))
+            .isEqualTo(RequestStatements.shape("SELECT * FROM pets WHERE owner_id = $2"))
+            .isEqualTo(RequestStatements.shape("SELECT * FROM pets WHERE owner_id = 42"))
+            .isEqualTo("SELECT * FROM pets WHERE owner_id = ?");
+        assertThat(RequestStatements.shape("select * from owners where last_name like 'O''Brien%'"))
+            .isEqualTo("select * from owners where last_name like ?");
+    }
+
+    @Test
+    void shouldCollapseInListsOfAnyLength() {
+        assertThat(RequestStatements.shape("select * from visits where pet_id in ($1, $2, $3)"))
+            .isEqualTo(RequestStatements.shape("select * from visits where pet_id in (?)"))
+            .isEqualTo("select * from visits where pet_id in (?)");
+        assertThat(RequestStatements.shape("select * from pets where id in (cast($1 as int), cast($2 as int))"))
+            .isEqualTo("select * from pets where id in (?)");
+    }
+
+    @Test
+    void shouldReportShapesRepeatedAtLeastThresholdTimes() {
+        RequestStatements statements = new RequestStatements();
+        for (int ownerId = 1; ownerId <= 3; ownerId++) {
+            statements.recordStatement("select * from pets where owner_id = $1");
+            statements.recordDuration(1_000_000);
+        }
+        statements.recordStatement("select * from owners where id = $1");
+        statements.recordDuration(2_000_000);
+        statements.recordRow();
+        statements.recordRow();
+
+        assertThat(statements.repeatedShapes(3))
+            .containsOnly(entry("select * from pets where owner_id = ?", 3L));
+        assertThat(statements.repeatedShapes(4)).isEmpty();
+        assertThat(statements).hasToString("4 statements, 2 rows, 5.0 ms");
+    }
+
+}
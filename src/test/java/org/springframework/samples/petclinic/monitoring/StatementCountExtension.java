@@ -0,0 +1,48 @@
+package org.springframework.samples.petclinic.monitoring;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails a test method that runs more statements or round trips than its {@link MaxStatements} allows. Only the test
+ * method itself is counted, not the <code>@BeforeEach</code> methods, which can set up the data it needs.
+ */
+public class StatementCountExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        maxStatements(context);
+        counter(context).reset();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        MaxStatements maxStatements = maxStatements(context);
+        StatementCounter counter = counter(context);
+        assertThat(counter.statements())
+            .as("statements run by %s", context.getDisplayName())
+            .isLessThanOrEqualTo(maxStatements.statements());
+        assertThat(counter.roundTrips())
+            .as("round trips of %s", context.getDisplayName())
+            .isLessThanOrEqualTo(maxStatements.roundTrips());
+    }
+
+    private static MaxStatements maxStatements(ExtensionContext context) {
+        return AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxStatements.class)
+            .orElseThrow(() -> new IllegalStateException(
+                context.getRequiredTestMethod() + " does not declare its @MaxStatements"));
+    }
+
+    private static StatementCounter counter(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(StatementCounter.class);
+    }
+
+}
@@ -0,0 +1,34 @@
+package org.springframework.samples.petclinic.monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the SQL statements run through the JDBC <code>DataSource</code> and the R2DBC <code>ConnectionFactory</code>
+ * wrapped by {@link StatementCountingConfig}, and the round trips they took: a JDBC batch, or an R2DBC statement
+ * executed with several sets of bindings, runs several statements in one round trip.
+ */
+public final class StatementCounter {
+
+    private final LongAdder statements = new LongAdder();
+
+    private final LongAdder roundTrips = new LongAdder();
+
+    void record(int statements) {
+        this.statements.add(statements);
+        this.roundTrips.increment();
+    }
+
+    public long statements() {
+        return statements.sum();
+    }
+
+    public long roundTrips() {
+        return roundTrips.sum();
+    }
+
+    public void reset() {
+        statements.reset();
+        roundTrips.reset();
+    }
+
+}
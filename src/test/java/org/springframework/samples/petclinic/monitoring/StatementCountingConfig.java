@@ -0,0 +1,63 @@
+package org.springframework.samples.petclinic.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Registers a {@link StatementCounter} and reports to it the statements run through the JDBC
+ * <code>HikariDataSource</code> and the R2DBC <code>connectionFactory</code>.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class StatementCountingConfig {
+
+    @Bean
+    StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    /**
+     * The Hikari pool is kept, so that the data source keeps its type, and takes its connections from a counting data
+     * source instead of the driver.
+     */
+    @Bean
+    static BeanPostProcessor statementCountingPostProcessor(ObjectProvider<StatementCounter> counter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    dataSource.setDataSource(CountingDataSource.wrap(new DriverManagerDataSource(
+                        dataSource.getJdbcUrl(), dataSource.getUsername(), dataSource.getPassword()),
+                        counter.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    static ConnectionFactoryProxyPostProcessor statementCountingConnectionFactoryPostProcessor(
+        ObjectProvider<StatementCounter> counter) {
+        return new ConnectionFactoryProxyPostProcessor(() -> new CountingListener(counter.getObject()));
+    }
+
+    /**
+     * Counts statements as they start, as a statement's result may be read after the response that needed it.
+     */
+    private record CountingListener(StatementCounter counter) implements ProxyExecutionListener {
+
+        @Override
+        public void beforeQuery(QueryExecutionInfo executionInfo) {
+            counter.record(executionInfo.getQueries().stream()
+                .mapToInt(query -> Math.max(1, query.getBindingsList().size()))
+                .sum());
+        }
+
+    }
+
+}
@@ -0,0 +1,31 @@
+package org.springframework.samples.petclinic.monitoring;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Test of the application started on embedded H2, called through a <code>WebTestClient</code>, in which every test
+ * method declares the statements it may run with {@link MaxStatements}. The owner cache is disabled, so that each
+ * test reads from the database whatever the order the tests run in. All the classes annotated share one application
+ * context.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.webflux.base-path=/petclinic",
+    "petclinic.owners.cache.max-weight=0"
+})
+@ActiveProfiles({"h2", "jdbc"})
+@Import(StatementCountingConfig.class)
+@ExtendWith(StatementCountExtension.class)
+public @interface StatementCountingTest {
+}
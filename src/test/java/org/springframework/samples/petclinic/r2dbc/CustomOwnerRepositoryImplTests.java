@@ -0,0 +1,93 @@
+package org.springframework.samples.petclinic.r2dbc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.samples.petclinic.monitoring.MaxStatements;
+import org.springframework.samples.petclinic.monitoring.StatementCountingTest;
+import org.springframework.samples.petclinic.rest.dto.OwnerDto;
+import org.springframework.samples.petclinic.rest.dto.OwnerFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.PetDto;
+import org.springframework.samples.petclinic.rest.dto.PetFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.PetTypeDto;
+import org.springframework.samples.petclinic.rest.dto.VisitFieldsDto;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the owner JSON document {@link CustomOwnerRepositoryImpl#findJsonById} renders in the database
+ */
+@StatementCountingTest
+class CustomOwnerRepositoryImplTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private OwnerDto owner;
+
+    @BeforeEach
+    void addOwnerWithPetsAndVisits() {
+        owner = client.post().uri("/api/owners")
+            .bodyValue(new OwnerFieldsDto().firstName("George").lastName("Bush")
+                .address("110 W. Liberty St.").city("Madison").telephone("6085551023"))
+            .exchange().expectStatus().isCreated()
+            .expectBody(OwnerDto.class).returnResult().getResponseBody();
+        PetDto leo = addPet("leo", new PetTypeDto().id(1).name("cat"));
+        addPet("Basil", new PetTypeDto().id(2).name("dog"));
+        addVisit(leo, LocalDate.of(2013, 1, 1));
+        addVisit(leo, LocalDate.of(2013, 1, 4));
+        databaseClient.sql("INSERT INTO visits (pet_id, visit_date, description) VALUES (:petId, NULL, 'walk-in')")
+            .bind("petId", leo.getId())
+            .then().block();
+    }
+
+    @Test
+    @MaxStatements(statements = 3, roundTrips = 3)
+    void shouldRenderTheOwnerAsTheMapperDoes() throws Exception {
+        String json = ownerRepository.findJsonById(owner.getId()).block();
+        byte[] mapped = client.get().uri("/api/owners/{ownerId}", owner.getId())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody().returnResult().getResponseBody();
+
+        assertThat(objectMapper.readTree(json)).isEqualTo(objectMapper.readTree(mapped));
+        assertThat(objectMapper.readTree(json).at("/pets/1/visits").findValuesAsText("description"))
+            .containsExactly("walk-in", "rabies shot 2013-01-04", "rabies shot 2013-01-01");
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldRenderTheOwnerInOneStatement() throws Exception {
+        String json = ownerRepository.findJsonById(owner.getId()).block();
+
+        assertThat(objectMapper.readTree(json).at("/pets").size()).isEqualTo(2);
+    }
+
+    private PetDto addPet(String name, PetTypeDto type) {
+        return client.post().uri("/api/owners/{ownerId}/pets", owner.getId())
+            .bodyValue(new PetFieldsDto().name(name).birthDate(LocalDate.of(2010, 9, 7)).type(type))
+            .exchange().expectStatus().isCreated()
+            .expectBody(PetDto.class).returnResult().getResponseBody();
+    }
+
+    private void addVisit(PetDto pet, LocalDate date) {
+        client.post().uri("/api/owners/{ownerId}/pets/{petId}/visits", owner.getId(), pet.getId())
+            .bodyValue(new VisitFieldsDto().date(date).description("rabies shot " + date))
+            .exchange().expectStatus().isCreated();
+    }
+
+}
@@ -0,0 +1,142 @@
+package org.springframework.samples.petclinic.r2dbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.model.PetType;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for the pet type snapshot in {@link CustomPetTypeRepositoryImpl}
+ */
+class CustomPetTypeRepositoryImplTests {
+
+    private R2dbcPetTypeRepository r2dbcRepository;
+
+    private CustomPetTypeRepositoryImpl repository;
+
+    @BeforeEach
+    void initRepository() {
+        r2dbcRepository = mock(R2dbcPetTypeRepository.class);
+        given(r2dbcRepository.findAll()).willReturn(Flux.just(new PetType(2, "dog"), new PetType(1, "cat")));
+        repository = new CustomPetTypeRepositoryImpl(r2dbcRepository, mock(DSLAccess.class));
+    }
+
+    @Test
+    void shouldLoadSnapshotOnceSortedByName() {
+        assertThat(names(repository.findAll())).containsExactly("cat", "dog");
+        assertThat(repository.findById(2).block().getName()).isEqualTo("dog");
+        assertThat(repository.findById(3).block()).isNull();
+        verify(r2dbcRepository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldNotExposeCachedInstances() {
+        repository.findById(1).block().setName("changed");
+        assertThat(repository.findById(1).block().getName()).isEqualTo("cat");
+    }
+
+    @Test
+    void shouldPublishSavedPetTypeWithoutReloading() {
+        repository.findAll().blockLast();
+        given(r2dbcRepository.save(any(PetType.class))).willReturn(Mono.just(new PetType(3, "bird")));
+
+        repository.save(new PetType(null, "bird")).block();
+
+        assertThat(names(repository.findAll())).containsExactly("bird", "cat", "dog");
+        verify(r2dbcRepository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldRemoveDeletedPetType() {
+        repository.findAll().blockLast();
+        given(r2dbcRepository.delete(any(PetType.class))).willReturn(Mono.empty());
+
+        repository.delete(new PetType(1, "cat")).block();
+
+        assertThat(names(repository.findAll())).containsExactly("dog");
+    }
+
+    @Test
+    void shouldKeepSnapshotWhenDeleteFails() {
+        repository.findAll().blockLast();
+        given(r2dbcRepository.delete(any(PetType.class))).willReturn(Mono.error(new IllegalStateException("in use")));
+
+        repository.delete(new PetType(1, "cat")).onErrorResume(e -> Mono.empty()).block();
+
+        assertThat(names(repository.findAll())).containsExactly("cat", "dog");
+    }
+
+    @Test
+    void shouldApplyCommittedSaveToSnapshotLoadedBeforeCommit() {
+        given(r2dbcRepository.save(any(PetType.class))).willReturn(Mono.just(new PetType(3, "bird")));
+
+        transactionally(repository.save(new PetType(null, "bird"))
+            .doOnNext(saved -> repository.findAll().blockLast())).block();
+
+        assertThat(names(repository.findAll())).containsExactly("bird", "cat", "dog");
+        verify(r2dbcRepository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldDropSnapshotLoadedBeforeRollback() {
+        given(r2dbcRepository.save(any(PetType.class))).willReturn(Mono.just(new PetType(3, "bird")));
+
+        transactionally(repository.save(new PetType(null, "bird"))
+            .doOnNext(saved -> repository.findAll().blockLast())
+            .then(Mono.error(new IllegalStateException("rollback")))).onErrorResume(e -> Mono.empty()).block();
+
+        assertThat(names(repository.findAll())).containsExactly("cat", "dog");
+        verify(r2dbcRepository, times(2)).findAll();
+    }
+
+    /**
+     * Runs <code>mono</code> in a transaction with synchronization active, without a database. The nested
+     * <code>findAll()</code> in the tests above is subscribed outside the transaction, as another request would be.
+     */
+    private static <T> Mono<T> transactionally(Mono<T> mono) {
+        return TransactionalOperator.create(new AbstractReactiveTransactionManager() {
+            @Override
+            protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+                return new Object();
+            }
+
+            @Override
+            protected Mono<Void> doBegin(TransactionSynchronizationManager synchronizationManager, Object transaction,
+                                         TransactionDefinition definition) {
+                return Mono.empty();
+            }
+
+            @Override
+            protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager,
+                                          GenericReactiveTransaction status) {
+                return Mono.empty();
+            }
+
+            @Override
+            protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager,
+                                            GenericReactiveTransaction status) {
+                return Mono.empty();
+            }
+        }).transactional(mono);
+    }
+
+    private static List<String> names(Flux<PetType> petTypes) {
+        return petTypes.map(PetType::getName).collectList().block();
+    }
+
+}
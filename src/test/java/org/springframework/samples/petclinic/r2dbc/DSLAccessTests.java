@@ -0,0 +1,35 @@
+package org.springframework.samples.petclinic.r2dbc;
+
+import org.jooq.Field;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.samples.petclinic.r2dbc.DSLAccess.putIfNotNull;
+import static org.springframework.samples.petclinic.r2dbc.DSLAccess.setClause;
+import static org.springframework.samples.petclinic.jooq.Tables.OWNERS;
+
+/**
+ * Test class for the partial update helpers of {@link DSLAccess}
+ */
+class DSLAccessTests {
+
+    @Test
+    void shouldSetOnlyFieldsThatAreNotNull() {
+        Map<Field<?>, Object> changes = new LinkedHashMap<>();
+        putIfNotNull(changes, OWNERS.FIRST_NAME, "George");
+        putIfNotNull(changes, OWNERS.LAST_NAME, null);
+        putIfNotNull(changes, OWNERS.CITY, "");
+
+        assertThat(setClause(changes, OWNERS.ID, 1))
+            .containsExactly(Map.entry(OWNERS.FIRST_NAME, "George"), Map.entry(OWNERS.CITY, ""));
+    }
+
+    @Test
+    void shouldSetIdToItselfWhenNothingChanges() {
+        assertThat(setClause(new LinkedHashMap<>(), OWNERS.ID, 1)).containsExactly(Map.entry(OWNERS.ID, 1));
+    }
+
+}
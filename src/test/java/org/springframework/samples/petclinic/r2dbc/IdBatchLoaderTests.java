@@ -0,0 +1,101 @@
+package org.springframework.samples.petclinic.r2dbc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.model.PetType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link IdBatchLoader}
+ */
+class IdBatchLoaderTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<List<Integer>> queries = new ArrayList<>();
+
+    private Flux<PetType> findAllById(Collection<Integer> ids) {
+        queries.add(List.copyOf(ids));
+        return Flux.fromIterable(ids).filter(id -> id < 100).map(id -> new PetType(id, "type" + id));
+    }
+
+    private IdBatchLoader<PetType> loader(Duration window, int maxBatchSize) {
+        return new IdBatchLoaders(meterRegistry, window, maxBatchSize).create("types", this::findAllById, PetType::getId);
+    }
+
+    @Test
+    void shouldResolveConcurrentLookupsWithOneQuery() {
+        var loader = loader(Duration.ofMillis(20), 10);
+
+        var types = Flux.merge(loader.load(1), loader.load(2), loader.load(2), loader.load(3)).collectList().block();
+
+        assertThat(types).extracting(PetType::getName).containsExactlyInAnyOrder("type1", "type2", "type2", "type3");
+        assertThat(queries).hasSize(1);
+        assertThat(queries.get(0)).containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(meterRegistry.get("petclinic.repository.batch.size").tag("repository", "types").summary().totalAmount())
+            .isEqualTo(3);
+        assertThat(meterRegistry.get("petclinic.repository.batch.wait").tag("repository", "types").timer().count())
+            .isEqualTo(4);
+    }
+
+    @Test
+    void shouldDispatchFullBatchWithoutWaitingForWindow() {
+        var loader = loader(Duration.ofMinutes(1), 2);
+
+        var types = Flux.merge(loader.load(1), loader.load(2)).collectList().block(Duration.ofSeconds(5));
+
+        assertThat(types).hasSize(2);
+        assertThat(queries).hasSize(1);
+    }
+
+    @Test
+    void shouldCompleteEmptyForMissingId() {
+        var loader = loader(Duration.ofMillis(20), 10);
+
+        var types = Flux.merge(loader.load(1), loader.load(100)).collectList().block();
+
+        assertThat(types).extracting(PetType::getId).containsExactly(1);
+    }
+
+    @Test
+    void shouldFailAllLookupsOfFailedBatch() {
+        var loader = new IdBatchLoaders(meterRegistry, Duration.ofMillis(20), 10)
+            .create("types", ids -> Flux.<PetType>error(new IllegalStateException("boom")), PetType::getId);
+
+        assertThatThrownBy(() -> Mono.zip(loader.load(1), loader.load(2)).block())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldNotQueryCancelledLookups() {
+        var loader = loader(Duration.ofMillis(50), 3);
+
+        loader.load(1).subscribe().dispose();
+        var types = Flux.merge(loader.load(2), loader.load(2).take(Duration.ofMillis(10)), loader.load(3))
+            .collectList().block();
+
+        assertThat(types).extracting(PetType::getId).containsExactlyInAnyOrder(2, 3);
+        assertThat(queries).containsExactly(List.of(2, 3));
+        assertThat(meterRegistry.get("petclinic.repository.batch.wait").tag("repository", "types").timer().count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void shouldQueryEachIdWhenBatchingIsDisabled() {
+        var loader = loader(Duration.ZERO, 10);
+
+        Flux.merge(loader.load(1), loader.load(2)).blockLast();
+
+        assertThat(queries).containsExactly(List.of(1), List.of(2));
+    }
+
+}
@@ -0,0 +1,63 @@
+package org.springframework.samples.petclinic.rest.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.samples.petclinic.service.ReactiveClinicService;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Test class for {@link OwnerJsonRoutes}
+ */
+class OwnerJsonRoutesTests {
+
+    private ReactiveClinicService reactiveClinicService;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void bindRoute() {
+        reactiveClinicService = mock(ReactiveClinicService.class);
+        client = WebTestClient.bindToRouterFunction(new OwnerJsonRoutes().ownerJsonRoute(reactiveClinicService)).build();
+    }
+
+    @Test
+    void shouldServeTheJsonAsRendered() {
+        given(reactiveClinicService.findOwnerJsonById(1)).willReturn(Mono.just("{\"id\":1,\"pets\":[]}"));
+
+        client.get().uri("/api/owners/1").accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_JSON)
+            .expectBody().json("{\"id\":1,\"pets\":[]}");
+    }
+
+    @Test
+    void shouldAnswerNotFoundWhenNoOwnerMatches() {
+        given(reactiveClinicService.findOwnerJsonById(anyInt())).willReturn(Mono.empty());
+
+        client.get().uri("/api/owners/999").accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus().isNotFound();
+        verify(reactiveClinicService).findOwnerJsonById(999);
+    }
+
+    @Test
+    void shouldLeaveNonNumericIdsToTheController() {
+        client.get().uri("/api/owners/abc").accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus().isNotFound();
+        client.get().uri("/api/owners/1234567890").accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus().isNotFound();
+        verifyNoInteractions(reactiveClinicService);
+    }
+
+}
@@ -0,0 +1,322 @@
+package org.springframework.samples.petclinic.rest.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.samples.petclinic.monitoring.MaxStatements;
+import org.springframework.samples.petclinic.monitoring.StatementCountingTest;
+import org.springframework.samples.petclinic.rest.dto.OwnerDto;
+import org.springframework.samples.petclinic.rest.dto.OwnerFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.OwnerPatchDto;
+import org.springframework.samples.petclinic.rest.dto.OwnerRegistrationDto;
+import org.springframework.samples.petclinic.rest.dto.PetDto;
+import org.springframework.samples.petclinic.rest.dto.PetFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.PetRegistrationDto;
+import org.springframework.samples.petclinic.rest.dto.PetTypeDto;
+import org.springframework.samples.petclinic.rest.dto.VisitFieldsDto;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the statements the {@link OwnerRestController} endpoints run against the database
+ */
+@StatementCountingTest
+class OwnerRestControllerStatementTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    @LocalServerPort
+    private int port;
+
+    private OwnerDto owner;
+
+    private PetDto pet;
+
+    @BeforeEach
+    void addOwnerWithPet() {
+        owner = client.post().uri("/api/owners").bodyValue(ownerFields())
+            .exchange().expectStatus().isCreated()
+            .expectBody(OwnerDto.class).returnResult().getResponseBody();
+        pet = client.post().uri("/api/owners/{ownerId}/pets", owner.getId()).bodyValue(petFields())
+            .exchange().expectStatus().isCreated()
+            .expectBody(PetDto.class).returnResult().getResponseBody();
+    }
+
+    @Test
+    @MaxStatements(statements = 2, roundTrips = 2)
+    void shouldGetOwnerWithPetsAndVisits() {
+        client.get().uri("/api/owners/{ownerId}", 6)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.lastName").isEqualTo("Coleman")
+            .jsonPath("$.pets.length()").isEqualTo(2)
+            .jsonPath("$.pets[0].visits.length()").isEqualTo(2);
+    }
+
+    @Test
+    @MaxStatements(statements = 2, roundTrips = 2)
+    void shouldFindOwnersByLastNameWithTheirPets() {
+        client.get().uri("/api/owners?lastName={lastName}", "Davis")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(2)
+            .jsonPath("$[1].pets[0].name").isEqualTo("Iggy");
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldAddOwner() {
+        client.post().uri("/api/owners").bodyValue(ownerFields())
+            .exchange()
+            .expectStatus().isCreated();
+    }
+
+    @Test
+    @MaxStatements(statements = 3, roundTrips = 3)
+    void shouldUpdateOwner() {
+        client.put().uri("/api/owners/{ownerId}", owner.getId())
+            .bodyValue(ownerFields().telephone("6085551024"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(OwnerDto.class)
+            .value(updated -> assertThat(updated.getTelephone()).isEqualTo("6085551024"));
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldPatchOnlyGivenOwnerFields() {
+        client.patch().uri("/api/owners/{ownerId}", owner.getId())
+            .bodyValue(new OwnerPatchDto().telephone("6085551024"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(OwnerFieldsDto.class)
+            .isEqualTo(ownerFields().telephone("6085551024"));
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldReturnOwnerUnchangedForEmptyPatch() {
+        client.patch().uri("/api/owners/{ownerId}", owner.getId())
+            .bodyValue(new OwnerPatchDto())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(OwnerFieldsDto.class)
+            .isEqualTo(ownerFields());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldNotFindOwnerToPatch(boolean empty) {
+        client.patch().uri("/api/owners/{ownerId}", 999999)
+            .bodyValue(empty ? new OwnerPatchDto() : new OwnerPatchDto().city("Madison"))
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldAddPetToOwner() {
+        client.post().uri("/api/owners/{ownerId}/pets", owner.getId()).bodyValue(petFields())
+            .exchange()
+            .expectStatus().isCreated();
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldAddVisitToOwnerPet() {
+        client.post().uri("/api/owners/{ownerId}/pets/{petId}/visits", owner.getId(), pet.getId())
+            .bodyValue(new VisitFieldsDto().date(LocalDate.of(2023, 3, 3)).description("rabies shot"))
+            .exchange()
+            .expectStatus().isCreated();
+    }
+
+    @Test
+    @MaxStatements(statements = 3, roundTrips = 3)
+    void shouldRegisterOwnerWithPetsAndVisitsInOneStatementPerTable() {
+        OwnerRegistrationDto registration = new OwnerRegistrationDto().firstName("George").lastName("Bush")
+            .address("110 W. Liberty St.").city("Madison").telephone("6085551023")
+            .pets(List.of(
+                new PetRegistrationDto().name("Basil").birthDate(LocalDate.of(2012, 8, 6))
+                    .type(new PetTypeDto().id(2).name("dog"))
+                    .visits(List.of(new VisitFieldsDto().date(LocalDate.of(2013, 1, 1)).description("rabies shot"),
+                        new VisitFieldsDto().date(LocalDate.of(2013, 1, 4)).description("spayed"))),
+                new PetRegistrationDto().name("Leo").birthDate(LocalDate.of(2010, 9, 7))
+                    .type(new PetTypeDto().id(1).name("cat"))
+                    .visits(List.of(new VisitFieldsDto().date(LocalDate.of(2013, 1, 2)).description("rabies shot")))));
+
+        client.post().uri("/api/owners/register").bodyValue(registration)
+            .exchange()
+            .expectStatus().isCreated()
+            .expectBody()
+            .jsonPath("$.pets.length()").isEqualTo(2)
+            .jsonPath("$.pets[0].visits.length()").isEqualTo(2);
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldImportOwnersInOneStatementPerBatch() {
+        client.post().uri("/api/owners/import")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON)
+            .bodyValue(List.of(ownerFields(), ownerFields().firstName("Laura")))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(1)
+            .jsonPath("$[0].ids.length()").isEqualTo(2);
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldExportOwnersFromOneCursor() {
+        String csv = client.get().uri("/api/owners/export?format={format}", "csv")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(csv.lines().findFirst()).hasValue("id,firstName,lastName,address,city,telephone");
+        assertThat(csv.lines().skip(1).findFirst()).hasValue("1,George,Franklin,110 W. Liberty St.,Madison,6085551023");
+    }
+
+    /**
+     * Read with a client that does not inflate responses itself, which the default test client does.
+     */
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldExportOwnersGzipped() throws IOException {
+        byte[] gzip = WebTestClient.bindToServer(new ReactorClientHttpConnector(HttpClient.create()))
+            .baseUrl("http://localhost:" + port + "/petclinic").build()
+            .get().uri("/api/owners/export?gzip={gzip}", true)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+            .expectBody().returnResult().getResponseBody();
+
+        try (GZIPInputStream ndjson = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertThat(new String(ndjson.readAllBytes(), StandardCharsets.UTF_8).lines().findFirst())
+                .hasValue("{\"id\":1,\"firstName\":\"George\",\"lastName\":\"Franklin\","
+                    + "\"address\":\"110 W. Liberty St.\",\"city\":\"Madison\",\"telephone\":\"6085551023\"}");
+        }
+    }
+
+    @Test
+    @MaxStatements(statements = 2, roundTrips = 2)
+    void shouldStreamOwnersWithTheirPetsInOneChunk() {
+        client.get().uri("/api/owners/stream")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(OwnerDto.class)
+            .value(owners -> {
+                assertThat(owners).extracting(OwnerDto::getId).isSorted().contains(owner.getId());
+                assertThat(owners.get(0).getPets()).extracting(PetDto::getName).containsExactly("Leo");
+            });
+    }
+
+    @Test
+    @MaxStatements(statements = 3, roundTrips = 3)
+    void shouldDeleteOwnerWithPets() {
+        client.delete().uri("/api/owners/{ownerId}", owner.getId())
+            .exchange()
+            .expectStatus().isNoContent();
+    }
+
+    private static OwnerFieldsDto ownerFields() {
+        return new OwnerFieldsDto().firstName("George").lastName("Bush")
+            .address("110 W. Liberty St.").city("Madison").telephone("6085551023");
+    }
+
+    private static PetFieldsDto petFields() {
+        return new PetFieldsDto().name("Leo").birthDate(LocalDate.of(2010, 9, 7))
+            .type(new PetTypeDto().id(1).name("cat"));
+    }
+
+    /**
+     * The keyset-paginated list, read from just before the owner added by the outer <code>@BeforeEach</code>, so
+     * that it sees exactly that owner and the three added below.
+     */
+    @Nested
+    class ListPages {
+
+        private int after;
+
+        private final List<Integer> ids = new ArrayList<>();
+
+        @BeforeEach
+        void addOwners() {
+            after = owner.getId() - 1;
+            ids.add(owner.getId());
+            for (int i = 0; i < 3; i++) {
+                ids.add(client.post().uri("/api/owners").bodyValue(ownerFields())
+                    .exchange().expectStatus().isCreated()
+                    .expectBody(OwnerDto.class).returnResult().getResponseBody().getId());
+            }
+        }
+
+        @Test
+        @MaxStatements(statements = 4, roundTrips = 4)
+        void shouldEndWithoutCursorWhenLastPageIsFull() {
+            client.get().uri("/api/owners?limit={limit}&after={after}", 2, after)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(KeysetPage.NEXT_CURSOR, String.valueOf(ids.get(1)))
+                .expectBodyList(OwnerDto.class)
+                .value(page -> assertThat(page).extracting(OwnerDto::getId).containsExactlyElementsOf(ids.subList(0, 2)));
+            client.get().uri("/api/owners?limit={limit}&after={after}", 2, ids.get(1))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(KeysetPage.NEXT_CURSOR)
+                .expectBodyList(OwnerDto.class)
+                .value(page -> assertThat(page).extracting(OwnerDto::getId).containsExactlyElementsOf(ids.subList(2, 4)));
+        }
+
+        @Test
+        @MaxStatements(statements = 4, roundTrips = 4)
+        void shouldEndWithoutCursorOnPartialLastPage() {
+            client.get().uri("/api/owners?limit={limit}&after={after}", 3, after)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(KeysetPage.NEXT_CURSOR, String.valueOf(ids.get(2)))
+                .expectBodyList(OwnerDto.class)
+                .value(page -> assertThat(page).extracting(OwnerDto::getId).containsExactlyElementsOf(ids.subList(0, 3)));
+            client.get().uri("/api/owners?limit={limit}&after={after}", 3, ids.get(2))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(KeysetPage.NEXT_CURSOR)
+                .expectBodyList(OwnerDto.class)
+                .value(page -> assertThat(page).extracting(OwnerDto::getId).containsExactlyElementsOf(ids.subList(3, 4)));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"limit=0", "limit=1001", "limit=ten", "after=-1", "after=ten"})
+        @MaxStatements(statements = 0, roundTrips = 0)
+        void shouldRejectBadLimitOrCursor(String query) {
+            client.get().uri("/api/owners?" + query)
+                .exchange()
+                .expectStatus().isBadRequest();
+        }
+
+    }
+
+}
@@ -0,0 +1,234 @@
+package org.springframework.samples.petclinic.rest.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.samples.petclinic.monitoring.MaxStatements;
+import org.springframework.samples.petclinic.monitoring.StatementCountingTest;
+import org.springframework.samples.petclinic.rest.dto.PetDto;
+import org.springframework.samples.petclinic.rest.dto.PetFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.PetImportDto;
+import org.springframework.samples.petclinic.rest.dto.PetPatchDto;
+import org.springframework.samples.petclinic.rest.dto.PetTypeDto;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the statements the {@link PetRestController} endpoints run against the database
+ */
+@StatementCountingTest
+class PetRestControllerStatementTests {
+
+    private static final PetTypeDto CAT = new PetTypeDto().id(1).name("cat");
+
+    @Autowired
+    private WebTestClient client;
+
+    private PetDto pet;
+
+    @BeforeEach
+    void addPet() {
+        pet = client.post().uri("/api/owners/{ownerId}/pets", 1)
+            .bodyValue(new PetFieldsDto().name("Leo").birthDate(LocalDate.of(2010, 9, 7)).type(CAT))
+            .exchange().expectStatus().isCreated()
+            .expectBody(PetDto.class).returnResult().getResponseBody();
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldGetPetWithVisits() {
+        client.get().uri("/api/pets/{petId}", 7)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.name").isEqualTo("Samantha")
+            .jsonPath("$.visits.length()").isEqualTo(2);
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldListPets() {
+        client.get().uri("/api/pets?limit={limit}", 10)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(10)
+            .jsonPath("$[6].name").isEqualTo("Samantha");
+    }
+
+    @Test
+    @MaxStatements(statements = 2, roundTrips = 2)
+    void shouldUpdatePet() {
+        client.put().uri("/api/pets/{petId}", pet.getId())
+            .bodyValue(new PetDto().name("Leopold").birthDate(pet.getBirthDate()).type(CAT))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.name").isEqualTo("Leopold");
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldPatchPet() {
+        client.patch().uri("/api/pets/{petId}", pet.getId())
+            .bodyValue(new PetPatchDto().name("Leopold"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.name").isEqualTo("Leopold")
+            .jsonPath("$.birthDate").isEqualTo("2010-09-07");
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldReturnPetUnchangedForEmptyPatch() {
+        client.patch().uri("/api/pets/{petId}", pet.getId())
+            .bodyValue(new PetPatchDto())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.name").isEqualTo("Leo")
+            .jsonPath("$.birthDate").isEqualTo("2010-09-07");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldNotFindPetToPatch(boolean empty) {
+        client.patch().uri("/api/pets/{petId}", 999999)
+            .bodyValue(empty ? new PetPatchDto() : new PetPatchDto().name("Leopold"))
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    @MaxStatements(statements = 2, roundTrips = 2)
+    void shouldDeletePet() {
+        client.delete().uri("/api/pets/{petId}", pet.getId())
+            .exchange()
+            .expectStatus().isNoContent();
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldImportPets() {
+        client.post().uri("/api/pets/import")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON)
+            .bodyValue(List.of(
+                new PetImportDto().name("Basil").birthDate(LocalDate.of(2012, 8, 6)).ownerId(1).typeId(2),
+                new PetImportDto().name("Leo").birthDate(LocalDate.of(2010, 9, 7)).ownerId(2).typeId(1)))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(1)
+            .jsonPath("$[0].ids.length()").isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ownerId", "typeId"})
+    @MaxStatements(statements = 0, roundTrips = 0)
+    void shouldRejectImportedPetWithoutId(String missing) {
+        PetImportDto petImport = new PetImportDto().name("Leo").birthDate(LocalDate.of(2010, 9, 7)).ownerId(1).typeId(1);
+        if (missing.equals("ownerId")) {
+            petImport.setOwnerId(null);
+        } else {
+            petImport.setTypeId(null);
+        }
+        client.post().uri("/api/pets/import")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON)
+            .bodyValue(List.of(petImport))
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldStreamPetsInOneChunk() {
+        client.get().uri("/api/pets/stream")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(PetDto.class)
+            .value(pets -> assertThat(pets).extracting(PetDto::getId).isSorted().contains(pet.getId()));
+    }
+
+    /**
+     * The keyset-paginated list, read from just before the pet added by the outer <code>@BeforeEach</code>, so
+     * that it sees exactly that pet and the three added below.
+     */
+    @Nested
+    class ListPages {
+
+        private int after;
+
+        private final List<Integer> ids = new ArrayList<>();
+
+        @BeforeEach
+        void addPets() {
+            after = pet.getId() - 1;
+            ids.add(pet.getId());
+            for (int i = 0; i < 3; i++) {
+                ids.add(client.post().uri("/api/owners/{ownerId}/pets", 1)
+                    .bodyValue(new PetFieldsDto().name("Leo").birthDate(LocalDate.of(2010, 9, 7)).type(CAT))
+                    .exchange().expectStatus().isCreated()
+                    .expectBody(PetDto.class).returnResult().getResponseBody().getId());
+            }
+        }
+
+        @Test
+        @MaxStatements(statements = 2, roundTrips = 2)
+        void shouldEndWithoutCursorWhenLastPageIsFull() {
+            client.get().uri("/api/pets?limit={limit}&after={after}", 2, after)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(KeysetPage.NEXT_CURSOR, String.valueOf(ids.get(1)))
+                .expectBodyList(PetDto.class)
+                .value(page -> assertThat(page).extracting(PetDto::getId).containsExactlyElementsOf(ids.subList(0, 2)));
+            client.get().uri("/api/pets?limit={limit}&after={after}", 2, ids.get(1))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(KeysetPage.NEXT_CURSOR)
+                .expectBodyList(PetDto.class)
+                .value(page -> assertThat(page).extracting(PetDto::getId).containsExactlyElementsOf(ids.subList(2, 4)));
+        }
+
+        @Test
+        @MaxStatements(statements = 2, roundTrips = 2)
+        void shouldEndWithoutCursorOnPartialLastPage() {
+            client.get().uri("/api/pets?limit={limit}&after={after}", 3, after)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(KeysetPage.NEXT_CURSOR, String.valueOf(ids.get(2)))
+                .expectBodyList(PetDto.class)
+                .value(page -> assertThat(page).extracting(PetDto::getId).containsExactlyElementsOf(ids.subList(0, 3)));
+            client.get().uri("/api/pets?limit={limit}&after={after}", 3, ids.get(2))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(KeysetPage.NEXT_CURSOR)
+                .expectBodyList(PetDto.class)
+                .value(page -> assertThat(page).extracting(PetDto::getId).containsExactlyElementsOf(ids.subList(3, 4)));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"limit=0", "limit=1001", "limit=ten", "after=-1", "after=ten"})
+        @MaxStatements(statements = 0, roundTrips = 0)
+        void shouldRejectBadLimitOrCursor(String query) {
+            client.get().uri("/api/pets?" + query)
+                .exchange()
+                .expectStatus().isBadRequest();
+        }
+
+    }
+
+}
@@ -0,0 +1,145 @@
+package org.springframework.samples.petclinic.rest.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.samples.petclinic.rest.controller.RowExport.column;
+
+/**
+ * Test class for {@link RowExport}
+ */
+class RowExportTests {
+
+    private static final int GZIP_HEADER_LENGTH = 10;
+
+    private final RowExport<Row> export = new RowExport<>("rows", List.of(
+        column("id", Row::id),
+        column("name", Row::name)));
+
+    @Test
+    void shouldStartCsvWithHeaderRow() {
+        ResponseEntity<Flux<DataBuffer>> response = export.toResponse(Flux.empty(), "CSV", false,
+            DefaultDataBufferFactory.sharedInstance);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(new MediaType("text", "csv", StandardCharsets.UTF_8));
+        assertThat(response.getHeaders().getContentDisposition().getFilename()).isEqualTo("rows.csv");
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(body(response)).isEqualTo("id,name\n");
+    }
+
+    @Test
+    void shouldQuoteCsvValuesAsRfc4180() {
+        Flux<Row> rows = Flux.just(
+            new Row(1, "plain"),
+            new Row(2, "a,b"),
+            new Row(3, "say \"hi\""),
+            new Row(4, "two\nlines"),
+            new Row(5, "carriage\rreturn"),
+            new Row(6, null));
+
+        String csv = body(export.toResponse(rows, "csv", false, DefaultDataBufferFactory.sharedInstance));
+
+        assertThat(csv).isEqualTo("id,name\n"
+            + "1,plain\n"
+            + "2,\"a,b\"\n"
+            + "3,\"say \"\"hi\"\"\"\n"
+            + "4,\"two\nlines\"\n"
+            + "5,\"carriage\rreturn\"\n"
+            + "6,\n");
+    }
+
+    @Test
+    void shouldWriteOneJsonDocumentPerRow() {
+        ResponseEntity<Flux<DataBuffer>> response = export.toResponse(Flux.just(new Row(1, "Leo"), new Row(2, null)),
+            "ndjson", false, DefaultDataBufferFactory.sharedInstance);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        assertThat(body(response)).isEqualTo("{\"id\":1,\"name\":\"Leo\"}\n{\"id\":2,\"name\":null}\n");
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        assertThatThrownBy(() -> export.toResponse(Flux.empty(), "xml", false, DefaultDataBufferFactory.sharedInstance))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Each buffer but the last ends on a sync flush, so everything sent up to it inflates to whole rows; the last one
+     * carries the gzip trailer.
+     */
+    @Test
+    void shouldSyncFlushGzipAfterEachBuffer() throws Exception {
+        Flux<Row> rows = Flux.fromStream(IntStream.rangeClosed(1, 130).mapToObj(id -> new Row(id, "pet" + id)));
+        ResponseEntity<Flux<DataBuffer>> response = export.toResponse(rows, "ndjson", true,
+            DefaultDataBufferFactory.sharedInstance);
+
+        List<byte[]> buffers = buffers(response);
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(buffers).hasSize(4);
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        int[] rowsSent = {64, 128, 130};
+        for (int i = 0; i < rowsSent.length; i++) {
+            sent.write(buffers.get(i));
+            String text = inflate(sent.toByteArray());
+            assertThat(text).endsWith("\n");
+            assertThat(text.lines()).hasSize(rowsSent[i]);
+        }
+        sent.write(buffers.get(3));
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(sent.toByteArray()))) {
+            List<String> lines = new String(gunzip.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            assertThat(lines).hasSize(130);
+            assertThat(lines.get(129)).isEqualTo("{\"id\":130,\"name\":\"pet130\"}");
+        }
+    }
+
+    private static String body(ResponseEntity<Flux<DataBuffer>> response) {
+        return String.join("", buffers(response).stream()
+            .map(bytes -> new String(bytes, StandardCharsets.UTF_8))
+            .toList());
+    }
+
+    private static List<byte[]> buffers(ResponseEntity<Flux<DataBuffer>> response) {
+        return response.getBody().map(buffer -> {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            DataBufferUtils.release(buffer);
+            return bytes;
+        }).collectList().block();
+    }
+
+    private static String inflate(byte[] gzip) throws DataFormatException {
+        Inflater inflater = new Inflater(true);
+        inflater.setInput(Arrays.copyOfRange(gzip, GZIP_HEADER_LENGTH, gzip.length));
+        ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+        byte[] chunk = new byte[1024];
+        int count;
+        while ((count = inflater.inflate(chunk)) > 0) {
+            inflated.write(chunk, 0, count);
+        }
+        inflater.end();
+        return inflated.toString(StandardCharsets.UTF_8);
+    }
+
+    private record Row(Integer id, String name) {
+    }
+
+}
@@ -0,0 +1,251 @@
+package org.springframework.samples.petclinic.rest.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.samples.petclinic.monitoring.MaxStatements;
+import org.springframework.samples.petclinic.monitoring.StatementCountingTest;
+import org.springframework.samples.petclinic.rest.dto.VisitDto;
+import org.springframework.samples.petclinic.rest.dto.VisitFieldsDto;
+import org.springframework.samples.petclinic.rest.dto.VisitImportDto;
+import org.springframework.samples.petclinic.rest.dto.VisitPatchDto;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the statements the {@link VisitRestController} endpoints run against the database
+ */
+@StatementCountingTest
+class VisitRestControllerStatementTests {
+
+    @Autowired
+    private WebTestClient client;
+
+    private VisitDto visit;
+
+    @BeforeEach
+    void addVisit() {
+        visit = client.post().uri("/api/owners/{ownerId}/pets/{petId}/visits", 6, 8)
+            .bodyValue(new VisitFieldsDto().date(LocalDate.of(2023, 3, 3)).description("rabies shot"))
+            .exchange().expectStatus().isCreated()
+            .expectBody(VisitDto.class).returnResult().getResponseBody();
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldGetVisit() {
+        client.get().uri("/api/visits/{visitId}", 2)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.description").isEqualTo("rabies shot")
+            .jsonPath("$.petId").isEqualTo(8);
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldListVisits() {
+        client.get().uri("/api/visits?limit={limit}", 4)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(4);
+    }
+
+    @Test
+    @MaxStatements(statements = 2, roundTrips = 2)
+    void shouldUpdateVisit() {
+        client.put().uri("/api/visits/{visitId}", visit.getId())
+            .bodyValue(new VisitDto().date(visit.getDate().plusDays(1)).description("rabies shot"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.date").isEqualTo("2023-03-04");
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldPatchVisit() {
+        client.patch().uri("/api/visits/{visitId}", visit.getId())
+            .bodyValue(new VisitPatchDto().description("neutered"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.description").isEqualTo("neutered")
+            .jsonPath("$.date").isEqualTo("2023-03-03");
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldReturnVisitUnchangedForEmptyPatch() {
+        client.patch().uri("/api/visits/{visitId}", visit.getId())
+            .bodyValue(new VisitPatchDto())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.description").isEqualTo("rabies shot")
+            .jsonPath("$.date").isEqualTo("2023-03-03");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldNotFindVisitToPatch(boolean empty) {
+        client.patch().uri("/api/visits/{visitId}", 999999)
+            .bodyValue(empty ? new VisitPatchDto() : new VisitPatchDto().description("neutered"))
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldDeleteVisit() {
+        client.delete().uri("/api/visits/{visitId}", visit.getId())
+            .exchange()
+            .expectStatus().isNoContent();
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldNotDeleteMissingVisit() {
+        client.delete().uri("/api/visits/{visitId}", 999)
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldImportVisits() {
+        client.post().uri("/api/visits/import")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON)
+            .bodyValue(List.of(
+                new VisitImportDto().petId(8).date(LocalDate.of(2013, 1, 1)).description("rabies shot"),
+                new VisitImportDto().petId(8).date(LocalDate.of(2013, 1, 2)).description("rabies shot")))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.length()").isEqualTo(1)
+            .jsonPath("$[0].ids.length()").isEqualTo(2);
+    }
+
+    @Test
+    @MaxStatements(statements = 0, roundTrips = 0)
+    void shouldRejectImportedVisitWithoutPetId() {
+        client.post().uri("/api/visits/import")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON)
+            .bodyValue(List.of(new VisitImportDto().date(LocalDate.of(2013, 1, 1)).description("rabies shot")))
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldStreamVisitsInOneChunk() {
+        client.get().uri("/api/visits/stream")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(VisitDto.class)
+            .value(visits -> assertThat(visits).extracting(VisitDto::getId).isSorted().contains(visit.getId()));
+    }
+
+    @Test
+    @MaxStatements(statements = 1, roundTrips = 1)
+    void shouldExportVisitsFromOneCursor() {
+        client.get().uri("/api/visits/export")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+            .expectBody(String.class)
+            .value(ndjson -> assertThat(ndjson.lines().findFirst())
+                .hasValue("{\"id\":1,\"petId\":7,\"date\":\"2013-01-01\",\"description\":\"rabies shot\"}"));
+    }
+
+    @Test
+    @MaxStatements(statements = 0, roundTrips = 0)
+    void shouldRejectUnknownExportFormat() {
+        client.get().uri("/api/visits/export?format={format}", "xml")
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    /**
+     * The keyset-paginated list, read from just before the visit added by the outer <code>@BeforeEach</code>, so
+     * that it sees exactly that visit and the three added below.
+     */
+    @Nested
+    class ListPages {
+
+        private int after;
+
+        private final List<Integer> ids = new ArrayList<>();
+
+        @BeforeEach
+        void addVisits() {
+            after = visit.getId() - 1;
+            ids.add(visit.getId());
+            for (int i = 0; i < 3; i++) {
+                ids.add(client.post().uri("/api/owners/{ownerId}/pets/{petId}/visits", 6, 8)
+                    .bodyValue(new VisitFieldsDto().date(LocalDate.of(2023, 3, 3)).description("rabies shot"))
+                    .exchange().expectStatus().isCreated()
+                    .expectBody(VisitDto.class).returnResult().getResponseBody().getId());
+            }
+        }
+
+        @Test
+        @MaxStatements(statements = 2, roundTrips = 2)
+        void shouldEndWithoutCursorWhenLastPageIsFull() {
+            client.get().uri("/api/visits?limit={limit}&after={after}", 2, after)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(KeysetPage.NEXT_CURSOR, String.valueOf(ids.get(1)))
+                .expectBodyList(VisitDto.class)
+                .value(page -> assertThat(page).extracting(VisitDto::getId).containsExactlyElementsOf(ids.subList(0, 2)));
+            client.get().uri("/api/visits?limit={limit}&after={after}", 2, ids.get(1))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(KeysetPage.NEXT_CURSOR)
+                .expectBodyList(VisitDto.class)
+                .value(page -> assertThat(page).extracting(VisitDto::getId).containsExactlyElementsOf(ids.subList(2, 4)));
+        }
+
+        @Test
+        @MaxStatements(statements = 2, roundTrips = 2)
+        void shouldEndWithoutCursorOnPartialLastPage() {
+            client.get().uri("/api/visits?limit={limit}&after={after}", 3, after)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(KeysetPage.NEXT_CURSOR, String.valueOf(ids.get(2)))
+                .expectBodyList(VisitDto.class)
+                .value(page -> assertThat(page).extracting(VisitDto::getId).containsExactlyElementsOf(ids.subList(0, 3)));
+            client.get().uri("/api/visits?limit={limit}&after={after}", 3, ids.get(2))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(KeysetPage.NEXT_CURSOR)
+                .expectBodyList(VisitDto.class)
+                .value(page -> assertThat(page).extracting(VisitDto::getId).containsExactlyElementsOf(ids.subList(3, 4)));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"limit=0", "limit=1001", "limit=ten", "after=-1", "after=ten"})
+        @MaxStatements(statements = 0, roundTrips = 0)
+        void shouldRejectBadLimitOrCursor(String query) {
+            client.get().uri("/api/visits?" + query)
+                .exchange()
+                .expectStatus().isBadRequest();
+        }
+
+    }
+
+}
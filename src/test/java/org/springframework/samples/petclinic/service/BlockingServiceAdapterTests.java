@@ -0,0 +1,67 @@
+package org.springframework.samples.petclinic.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.model.Vet;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for {@link BlockingServiceAdapter}
+ */
+class BlockingServiceAdapterTests {
+
+    private final ClinicService clinicService = mock(ClinicService.class);
+
+    private final Scheduler scheduler = Schedulers.newSingle("blocking");
+
+    private final BlockingServiceAdapter adapter =
+        new BlockingServiceAdapter(clinicService, mock(UserService.class), scheduler);
+
+    @AfterEach
+    void disposeScheduler() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void shouldCallServiceOnBlockingScheduler() {
+        AtomicReference<String> thread = new AtomicReference<>();
+        given(clinicService.findAllVets()).will(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return List.of(vet(1), vet(2));
+        });
+
+        List<Vet> vets = adapter.findAllVets().collectList().block();
+
+        assertThat(vets).extracting(Vet::getId).containsExactly(1, 2);
+        assertThat(thread.get()).startsWith("blocking");
+    }
+
+    @Test
+    void shouldCompleteEmptyForMissingEntity() {
+        assertThat(adapter.findVetById(99).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void shouldReturnSavedEntity() {
+        Vet vet = vet(1);
+
+        assertThat(adapter.saveVet(vet).block()).isSameAs(vet);
+        verify(clinicService).saveVet(vet);
+    }
+
+    private static Vet vet(int id) {
+        Vet vet = new Vet();
+        vet.setId(id);
+        return vet;
+    }
+
+}
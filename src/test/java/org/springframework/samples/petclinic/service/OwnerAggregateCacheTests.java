@@ -0,0 +1,98 @@
+package org.springframework.samples.petclinic.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.Pet;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link OwnerAggregateCache}
+ */
+class OwnerAggregateCacheTests {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OwnerAggregateCache cache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void initCache() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new OwnerAggregateCache(meterRegistry, 100, Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void shouldLoadOnceAndCountHitsAndMisses() {
+        cache.get(1, this::load).block();
+        cache.get(1, this::load).block();
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotExposeCachedInstances() {
+        cache.get(1, this::load).block().setLastName("Changed");
+        cache.get(1, this::load).block().getPets().get(0).setName("Changed");
+
+        Owner owner = cache.get(1, this::load).block();
+        assertThat(owner.getLastName()).isEqualTo("Franklin");
+        assertThat(owner.getPets().get(0).getName()).isEqualTo("Leo");
+    }
+
+    @Test
+    void shouldReloadEvictedOwner() {
+        cache.get(1, this::load).block();
+        cache.evictOwner(1).block();
+        cache.get(1, this::load).block();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldEvictOwnerOfPet() {
+        cache.get(1, this::load).block();
+        cache.get(2, this::load).block();
+        cache.evictOwnersOfPet(1).block();
+        cache.get(1, this::load).block();
+        cache.get(2, this::load).block();
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void shouldNotCacheLoadThatRacedWithEviction() {
+        cache.get(1, id -> load(id).delayUntil(owner -> cache.evictOwner(id))).block();
+        cache.get(1, this::load).block();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private Mono<Owner> load(int ownerId) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            var owner = new Owner();
+            owner.setId(ownerId);
+            owner.setFirstName("George");
+            owner.setLastName("Franklin");
+            var pet = new Pet();
+            pet.setId(ownerId);
+            pet.setName("Leo");
+            pet.setOwnerId(ownerId);
+            owner.setPets(List.of(pet));
+            return owner;
+        });
+    }
+
+}
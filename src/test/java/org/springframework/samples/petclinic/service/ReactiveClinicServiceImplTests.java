@@ -0,0 +1,147 @@
+package org.springframework.samples.petclinic.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.samples.petclinic.model.Owner;
+import org.springframework.samples.petclinic.model.Pet;
+import org.springframework.samples.petclinic.model.Visit;
+import org.springframework.samples.petclinic.r2dbc.OwnerRepository;
+import org.springframework.samples.petclinic.r2dbc.PetRepository;
+import org.springframework.samples.petclinic.r2dbc.PetTypeRepository;
+import org.springframework.samples.petclinic.r2dbc.SpecialtyRepository;
+import org.springframework.samples.petclinic.r2dbc.VetRepository;
+import org.springframework.samples.petclinic.r2dbc.VisitRepository;
+import org.springframework.transaction.ReactiveTransactionManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for {@link ReactiveClinicServiceImpl}
+ */
+class ReactiveClinicServiceImplTests {
+
+    private final OwnerRepository ownerRepository = mock(OwnerRepository.class);
+
+    private final PetRepository petRepository = mock(PetRepository.class);
+
+    private final VisitRepository visitRepository = mock(VisitRepository.class);
+
+    private final ReactiveClinicServiceImpl clinicService = new ReactiveClinicServiceImpl(ownerRepository,
+        petRepository, visitRepository, mock(PetTypeRepository.class), mock(VetRepository.class),
+        mock(SpecialtyRepository.class), new OwnerAggregateCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10)),
+        mock(ReactiveTransactionManager.class), mock(Validator.class));
+
+    private final Owner owner = ownerWithPets("Basil", "Leo");
+
+    @Test
+    void shouldSetGeneratedIdsOnRegisteredPets() {
+        Owner owner = ownerWithPets("Basil", "Leo");
+        given(ownerRepository.save(any(Owner.class))).willReturn(Mono.just(owner));
+        given(petRepository.insertAll(anyList())).willReturn(Flux.just(10, 11));
+
+        clinicService.registerOwner(owner).block();
+
+        assertThat(owner.getPets()).extracting(Pet::getId).containsExactly(10, 11);
+    }
+
+    @Test
+    void shouldFailWhenFewerIdsAreReturnedThanRowsInserted() {
+        Owner owner = ownerWithPets("Basil", "Leo");
+        given(ownerRepository.save(any(Owner.class))).willReturn(Mono.just(owner));
+        given(petRepository.insertAll(anyList())).willReturn(Flux.just(10));
+
+        assertThatThrownBy(() -> clinicService.registerOwner(owner).block())
+            .isInstanceOf(IncorrectResultSizeDataAccessException.class);
+        verify(visitRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void shouldEvictOwnerOncePatched() {
+        cacheOwner();
+        Owner changes = new Owner();
+        given(ownerRepository.patch(1, changes)).willReturn(Mono.just(owner));
+
+        clinicService.patchOwner(1, changes).block();
+        clinicService.findOwnerById(1).block();
+
+        verify(ownerRepository, times(2)).findById(1);
+    }
+
+    @Test
+    void shouldEvictOwnerOfPatchedPet() {
+        cacheOwner();
+        Pet patched = new Pet();
+        patched.setId(2);
+        patched.setOwnerId(1);
+        Pet changes = new Pet();
+        given(petRepository.patch(2, changes)).willReturn(Mono.just(patched));
+
+        clinicService.patchPet(2, changes).block();
+        clinicService.findOwnerById(1).block();
+
+        verify(ownerRepository, times(2)).findById(1);
+    }
+
+    @Test
+    void shouldEvictOwnerOfPetOfPatchedVisit() {
+        cacheOwner();
+        Visit changes = new Visit();
+        given(visitRepository.patch(3, changes)).willReturn(Mono.just(new Visit(3, 2, null, "rabies shot")));
+
+        clinicService.patchVisit(3, changes).block();
+        clinicService.findOwnerById(1).block();
+
+        verify(ownerRepository, times(2)).findById(1);
+    }
+
+    @Test
+    void shouldKeepOwnerCachedWhenPatchMatchesNoRow() {
+        cacheOwner();
+        Owner changes = new Owner();
+        given(ownerRepository.patch(1, changes)).willReturn(Mono.empty());
+
+        assertThat(clinicService.patchOwner(1, changes).blockOptional()).isEmpty();
+        clinicService.findOwnerById(1).block();
+
+        verify(ownerRepository, times(1)).findById(1);
+    }
+
+    /**
+     * Loads owner 1, whose pets have the IDs 1 and 2, into the cache and checks that it is served from there.
+     */
+    private void cacheOwner() {
+        for (int i = 0; i < owner.getPets().size(); i++) {
+            owner.getPets().get(i).setId(i + 1);
+        }
+        given(ownerRepository.findById(1)).willReturn(Mono.just(owner));
+        clinicService.findOwnerById(1).block();
+        clinicService.findOwnerById(1).block();
+        verify(ownerRepository, times(1)).findById(1);
+    }
+
+    private static Owner ownerWithPets(String... names) {
+        Owner owner = new Owner();
+        owner.setId(1);
+        for (String name : names) {
+            Pet pet = new Pet();
+            pet.setName(name);
+            owner.addPet(pet);
+        }
+        return owner;
+    }
+
+}
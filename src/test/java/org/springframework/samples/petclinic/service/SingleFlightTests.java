@@ -0,0 +1,80 @@
+package org.springframework.samples.petclinic.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.context.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link SingleFlight}
+ */
+class SingleFlightTests {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Sinks.One<List<String>> result = Sinks.one();
+
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final SingleFlight<List<String>> lookups = new SingleFlight<>(id -> {
+        loads.incrementAndGet();
+        return result.asMono();
+    }, ArrayList::new, epoch::get);
+
+    @Test
+    void shouldShareLookupInFlight() {
+        List<List<String>> received = new ArrayList<>();
+        lookups.get(1).subscribe(received::add);
+        lookups.get(1).subscribe(received::add);
+
+        result.tryEmitValue(List.of("Leo"));
+
+        assertThat(loads).hasValue(1);
+        assertThat(received).hasSize(2);
+        assertThat(received.get(0)).isEqualTo(List.of("Leo")).isNotSameAs(received.get(1));
+    }
+
+    @Test
+    void shouldNotShareLookupsOfDifferentIds() {
+        lookups.get(1).subscribe();
+        lookups.get(2).subscribe();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldStartNewLookupOnceTheLastOneCompleted() {
+        lookups.get(1).subscribe();
+        result.tryEmitValue(List.of("Leo"));
+        lookups.get(1).subscribe();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldNotShareLookupStartedInEarlierEpoch() {
+        lookups.get(1).subscribe();
+        epoch.incrementAndGet();
+        lookups.get(1).subscribe();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldNotRunLookupInCallerContext() {
+        var contextual = new SingleFlight<Boolean>(id -> Mono.deferContextual(ctx -> Mono.just(ctx.hasKey("tx"))),
+            hasKey -> hasKey);
+
+        Boolean sawCallerContext = contextual.get(1).contextWrite(Context.of("tx", "caller")).block();
+
+        assertThat(sawCallerContext).isFalse();
+    }
+
+}
@@ -0,0 +1,111 @@
+package org.springframework.samples.petclinic.util;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link CallMonitoringAspect}
+ */
+class CallMonitoringAspectTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CallMonitoringAspect aspect = new CallMonitoringAspect(meterRegistry);
+
+    private final SampleRepository repository = proxy(new SampleRepository());
+
+    @Test
+    void shouldTimeMonoFromSubscriptionToCompletion() {
+        Mono<String> result = repository.findLater(Duration.ofMillis(100));
+        assertThat(aspect.getCallCount()).isZero();
+
+        assertThat(result.block()).isEqualTo("found");
+
+        assertThat(aspect.getCallCount()).isEqualTo(1);
+        assertThat(timer("findLater").totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(100);
+        assertThat(aspect.getMethodStatistics())
+            .singleElement().asString().startsWith("SampleRepository.findLater calls=1 errors=0");
+    }
+
+    @Test
+    void shouldTimeFluxAndCountErrors() {
+        assertThat(repository.findAll().collectList().block()).containsExactly(1, 2, 3);
+        assertThatThrownBy(() -> repository.findFailing().blockLast()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(repository::findNow).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(aspect.getCallCount()).isEqualTo(3);
+        assertThat(aspect.getMethodStatistics()).satisfiesExactly(
+            line -> assertThat(line).startsWith("SampleRepository.findAll calls=1 errors=0"),
+            line -> assertThat(line).startsWith("SampleRepository.findFailing calls=1 errors=1"),
+            line -> assertThat(line).startsWith("SampleRepository.findNow calls=1 errors=1"));
+        assertThat(timer("findAll").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldResetStatisticsButNotMeters() {
+        repository.findLater(Duration.ZERO).block();
+
+        aspect.reset();
+
+        assertThat(aspect.getCallCount()).isZero();
+        assertThat(aspect.getCallTime()).isZero();
+        assertThat(timer("findLater").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotRecordWhenDisabled() {
+        aspect.setEnabled(false);
+
+        repository.findLater(Duration.ZERO).block();
+
+        assertThat(aspect.getCallCount()).isZero();
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    private Timer timer(String method) {
+        return meterRegistry.get("petclinic.repository.call")
+            .tag("repository", "SampleRepository")
+            .tag("method", method)
+            .timer();
+    }
+
+    private SampleRepository proxy(SampleRepository target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @Repository
+    public static class SampleRepository {
+
+        public Mono<String> findLater(Duration delay) {
+            return Mono.just("found").delayElement(delay);
+        }
+
+        public Flux<Integer> findAll() {
+            return Flux.just(1, 2, 3);
+        }
+
+        public Flux<Integer> findFailing() {
+            return Flux.error(new IllegalStateException("query failed"));
+        }
+
+        public String findNow() {
+            throw new IllegalArgumentException("no such row");
+        }
+
+    }
+
+}